@@ -0,0 +1,98 @@
+package nhnad.soeun_chat.domain.account.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirements;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import nhnad.soeun_chat.domain.account.dto.AthenaQueryCostItem;
+import nhnad.soeun_chat.global.response.ApiResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
+
+@Tag(name = "Internal", description = "내부 관리 API — 서버 간 통신 전용 (프론트엔드 직접 호출 금지)")
+@RequestMapping("/api/internal")
+public interface InternalAthenaApi {
+
+    @Operation(
+            summary = "Athena 고비용 쿼리 상위 N개 조회 (내부 API)",
+            description = """
+                    이 서버 인스턴스가 **직접 실행한** Athena 쿼리를 SQL fingerprint별로 묶어
+                    **누적 스캔량이 큰 순서**로 반환합니다. 프롬프트/캐시 튜닝용입니다.
+
+                    > ⚠️ **프론트엔드에서 직접 호출하지 않습니다.**
+                    > 캐시 적중이나 진행 중인 동일 쿼리 합류는 실행 횟수에 포함되지 않습니다.
+                    > 통계는 인스턴스 메모리에 보관되며 재시작 시 초기화됩니다.
+
+                    **인증:** `X-Internal-Key` 헤더에 내부 API 키를 포함해야 합니다. (Bearer 토큰 불필요)
+
+                    **응답 필드:**
+                    | 필드 | 설명 |
+                    |---|---|
+                    | `fingerprint` | 정규화 SQL 해시 |
+                    | `normalizedSql` | 정규화된 SQL |
+                    | `tables` | 조회 대상 테이블 |
+                    | `lastCaller` | 마지막 호출 레인 (chat / dashboard / report) |
+                    | `executions` | 실행 횟수 |
+                    | `totalScannedBytes` | 누적 스캔량 |
+                    | `maxScannedBytes` | 1회 최대 스캔량 |
+                    | `avgEngineMillis` | 평균 엔진 실행 시간 |
+                    | `estimatedCostUsd` | 누적 예상 비용 (USD) |
+                    | `lastExecutedAt` | 마지막 실행 시각 |
+                    """
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "조회 성공",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = AthenaQueryCostItem.class),
+                            examples = @ExampleObject(value = """
+                                    {
+                                      "success": true,
+                                      "data": [
+                                        {
+                                          "fingerprint": "3f2a9c...",
+                                          "normalizedSql": "select sum ( cost ) from se_report_db . google_ad_performance $t1 where ...",
+                                          "tables": ["google_ad_performance"],
+                                          "lastCaller": "chat",
+                                          "executions": 12,
+                                          "totalScannedBytes": 5368709120,
+                                          "maxScannedBytes": 536870912,
+                                          "avgEngineMillis": 1840,
+                                          "estimatedCostUsd": 0.0244,
+                                          "lastExecutedAt": "2026-02-07T09:00:00Z"
+                                        }
+                                      ]
+                                    }
+                                    """)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "X-Internal-Key 누락 또는 불일치",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(value = "{\"success\":false,\"code\":\"INVALID_TOKEN\",\"message\":\"유효하지 않은 내부 API 키입니다.\"}")
+                    )
+            )
+    })
+    @SecurityRequirements
+    @GetMapping("/athena/top-queries")
+    ApiResponse<List<AthenaQueryCostItem>> topQueries(
+            @Parameter(in = ParameterIn.HEADER, name = "X-Internal-Key", required = true,
+                    description = "내부 API 키 — 서버/Lambda 전용")
+            @RequestHeader("X-Internal-Key") String internalKey,
+            @Parameter(description = "조회 개수 (1~100)", example = "20")
+            @RequestParam(defaultValue = "20") int limit
+    );
+}
@@ -0,0 +1,52 @@
+package nhnad.soeun_chat.domain.account.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import nhnad.soeun_chat.domain.account.dto.AthenaQueryCostItem;
+import nhnad.soeun_chat.global.athena.AthenaQueryStatistics;
+import nhnad.soeun_chat.global.error.ErrorCode;
+import nhnad.soeun_chat.global.exception.UnauthorizedException;
+import nhnad.soeun_chat.global.response.ApiResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class InternalAthenaController implements InternalAthenaApi {
+
+    private static final int MAX_LIMIT = 100;
+
+    @Value("${internal.api.key}")
+    private String internalApiKey;
+
+    private final AthenaQueryStatistics athenaQueryStatistics;
+
+    @Override
+    public ApiResponse<List<AthenaQueryCostItem>> topQueries(
+            @RequestHeader("X-Internal-Key") String internalKey,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        if (!internalApiKey.equals(internalKey)) {
+            log.warn("내부 API 키 인증 실패");
+            throw new UnauthorizedException(ErrorCode.INVALID_TOKEN);
+        }
+
+        List<AthenaQueryCostItem> items = athenaQueryStatistics.topByScannedBytes(Math.max(1, Math.min(limit, MAX_LIMIT)))
+                .stream()
+                .map(this::toItem)
+                .toList();
+
+        log.info("Athena 고비용 쿼리 조회 완료 - count: {}", items.size());
+        return ApiResponse.of(items);
+    }
+
+    private AthenaQueryCostItem toItem(AthenaQueryStatistics.FingerprintStats stats) {
+        long avgEngineMillis = stats.executions() > 0 ? stats.totalEngineMillis() / stats.executions() : 0;
+        return new AthenaQueryCostItem(stats.hash(), stats.normalizedSql(), stats.tables(), stats.lastCaller(),
+                stats.executions(), stats.totalScannedBytes(), stats.maxScannedBytes(), avgEngineMillis,
+                stats.estimatedCostUsd(), stats.lastExecutedAt());
+    }
+}
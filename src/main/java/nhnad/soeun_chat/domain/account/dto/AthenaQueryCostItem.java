@@ -0,0 +1,39 @@
+package nhnad.soeun_chat.domain.account.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.Set;
+
+@Schema(description = "SQL fingerprint별 Athena 누적 비용/지연 통계")
+public record AthenaQueryCostItem(
+        @Schema(description = "정규화 SQL의 SHA-256 해시", example = "3f2a9c...")
+        String fingerprint,
+
+        @Schema(description = "정규화된 SQL (리터럴 정렬, 별칭 치환 후)", example = "select sum ( cost ) from se_report_db . google_ad_performance $t1 where ...")
+        String normalizedSql,
+
+        @Schema(description = "조회 대상 테이블", example = "[\"google_ad_performance\"]")
+        Set<String> tables,
+
+        @Schema(description = "마지막 호출 레인 (chat / dashboard / report)", example = "chat")
+        String lastCaller,
+
+        @Schema(description = "실제 Athena 실행 횟수 (캐시 적중/합류 제외)", example = "12")
+        long executions,
+
+        @Schema(description = "누적 스캔량 (bytes)", example = "5368709120")
+        long totalScannedBytes,
+
+        @Schema(description = "1회 최대 스캔량 (bytes)", example = "536870912")
+        long maxScannedBytes,
+
+        @Schema(description = "평균 엔진 실행 시간 (ms)", example = "1840")
+        long avgEngineMillis,
+
+        @Schema(description = "누적 예상 비용 (USD, 쿼리당 최소 10MB 과금 반영)", example = "0.0244")
+        double estimatedCostUsd,
+
+        @Schema(description = "마지막 실행 시각", example = "2026-02-07T09:00:00Z")
+        Instant lastExecutedAt
+) {}
@@ -4,6 +4,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import nhnad.soeun_chat.domain.chat.dto.ChatRequest;
+import nhnad.soeun_chat.domain.chat.service.CancellationToken;
 import nhnad.soeun_chat.domain.chat.service.ChatService;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -26,7 +27,14 @@ public class ChatController implements ChatApi {
 
         log.info("[{}] 채팅 요청 수신 - userId: {}", conversationId, userId);
         SseEmitter emitter = new SseEmitter(180_000L);
-        chatService.processChat(emitter, conversationId, userId, request.message());
+
+        // 탭 종료/타임아웃/네트워크 오류 시 진행 중인 Bedrock 스트림과 Athena 쿼리를 중단
+        CancellationToken cancellation = new CancellationToken();
+        emitter.onCompletion(cancellation::cancel);
+        emitter.onTimeout(cancellation::cancel);
+        emitter.onError(e -> cancellation.cancel());
+
+        chatService.processChat(emitter, cancellation, conversationId, userId, request.message());
         return emitter;
     }
 }
@@ -121,6 +121,22 @@ public class ConversationRepository {
         log.debug("대화 제목 갱신 - conversationId: {}, title: {}", conversationId, title);
     }
 
+    /**
+     * 대화 요약 갱신: summarizedUntil까지의 메시지는 요약으로만 모델에 전달된다
+     */
+    public void updateSummary(String conversationId, String summary, String summarizedUntil) {
+        dynamoDbClient.updateItem(UpdateItemRequest.builder()
+                .tableName(TABLE_NAME)
+                .key(Map.of("conversationId", AttributeValue.fromS(conversationId)))
+                .updateExpression("SET summary = :summary, summarizedUntil = :until")
+                .expressionAttributeValues(Map.of(
+                        ":summary", AttributeValue.fromS(summary),
+                        ":until", AttributeValue.fromS(summarizedUntil)
+                ))
+                .build());
+        log.debug("대화 요약 갱신 - conversationId: {}, summarizedUntil: {}", conversationId, summarizedUntil);
+    }
+
     public void updateUpdatedAt(String conversationId, long updatedAt) {
         dynamoDbClient.updateItem(UpdateItemRequest.builder()
                 .tableName(TABLE_NAME)
@@ -42,6 +42,33 @@ public class MessageRepository {
         return items;
     }
 
+    /**
+     * createdAt이 after보다 늦은 메시지 중 최근 limit개 (오름차순), after가 null이면 처음부터
+     */
+    public List<Map<String, AttributeValue>> findByConversationIdAfter(String conversationId, String after, int limit) {
+        String keyCondition = "conversationId = :cid";
+        Map<String, AttributeValue> values = new HashMap<>();
+        values.put(":cid", AttributeValue.fromS(conversationId));
+        if (after != null) {
+            keyCondition += " AND createdAt > :after";
+            values.put(":after", AttributeValue.fromS(after));
+        }
+
+        QueryResponse response = dynamoDbClient.query(QueryRequest.builder()
+                .tableName(TABLE_NAME)
+                .indexName(GSI_NAME)
+                .keyConditionExpression(keyCondition)
+                .expressionAttributeValues(values)
+                .scanIndexForward(false)
+                .limit(limit)
+                .build());
+
+        List<Map<String, AttributeValue>> items = new ArrayList<>(response.items());
+        Collections.reverse(items);
+        log.debug("요약 이후 메시지 조회 - conversationId: {}, after: {}, count: {}", conversationId, after, items.size());
+        return items;
+    }
+
     public void deleteByConversationId(String conversationId) {
         // GSI로 해당 대화의 모든 messageId 조회
         QueryResponse response = dynamoDbClient.query(QueryRequest.builder()
@@ -74,13 +101,17 @@ public class MessageRepository {
         log.info("메시지 일괄 삭제 - conversationId: {}, count: {}", conversationId, items.size());
     }
 
-    public void save(String conversationId, String role, String content, String structuredDataJson, String chartType) {
+    /**
+     * @return 저장한 메시지의 createdAt
+     */
+    public String save(String conversationId, String role, String content, String structuredDataJson, String chartType) {
+        String createdAt = Instant.now().toString();
         Map<String, AttributeValue> item = new HashMap<>();
         item.put("messageId", AttributeValue.fromS(UUID.randomUUID().toString()));
         item.put("conversationId", AttributeValue.fromS(conversationId));
         item.put("role", AttributeValue.fromS(role));
         item.put("content", AttributeValue.fromS(content));
-        item.put("createdAt", AttributeValue.fromS(Instant.now().toString()));
+        item.put("createdAt", AttributeValue.fromS(createdAt));
 
         if (structuredDataJson != null && !structuredDataJson.isBlank() && !"[]".equals(structuredDataJson)) {
             item.put("structuredData", AttributeValue.fromS(structuredDataJson));
@@ -95,5 +126,6 @@ public class MessageRepository {
                 .item(item)
                 .build());
         log.debug("메시지 저장 - conversationId: {}, role: {}", conversationId, role);
+        return createdAt;
     }
 }
@@ -2,151 +2,63 @@ package nhnad.soeun_chat.domain.chat.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import nhnad.soeun_chat.global.athena.AthenaQueryEngine;
+import nhnad.soeun_chat.global.athena.AthenaResult;
+import nhnad.soeun_chat.global.athena.AthenaResultCache;
+import nhnad.soeun_chat.global.athena.AthenaWorkload;
+import nhnad.soeun_chat.global.athena.SqlFingerprint;
 import nhnad.soeun_chat.global.error.ErrorCode;
+import nhnad.soeun_chat.global.exception.BusinessException;
 import nhnad.soeun_chat.global.exception.InternalServerException;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.services.athena.AthenaClient;
-import software.amazon.awssdk.services.athena.model.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AthenaService {
 
-    @Value("${aws.athena.database}")
-    private String database;
+    private final AthenaQueryEngine athenaQueryEngine;
+    private final AthenaResultCache athenaResultCache;
 
-    @Value("${aws.athena.output-location}")
-    private String outputLocation;
-
-    private final AthenaClient athenaClient;
-
-    public record AthenaResult(String text, String json) {}
+    /**
+     * cancellation이 취소되면 대기를 멈추고 CancellationException을 던진다
+     */
+    public AthenaResult executeQuery(String sql, AthenaWorkload workload, CancellationToken cancellation) {
+        return await(cancellation.track(executeQueryAsync(sql, workload)));
+    }
 
-    public AthenaResult executeQuery(String sql) {
+    /**
+     * executeQueryAsync로 시작한 쿼리의 결과를 기다린다 (예외 변환은 executeQuery와 같음)
+     * 여러 쿼리를 동시에 시작한 뒤 하나씩 결과를 받을 때 쓴다.
+     */
+    public AthenaResult await(CompletableFuture<AthenaResult> execution) {
         try {
-            String queryExecutionId = startQuery(sql);
-            waitForCompletion(queryExecutionId);
-            String text = fetchResults(queryExecutionId);
-            String json = fetchResultsAsJson(queryExecutionId);
-            return new AthenaResult(text, json);
+            return execution.get();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new InternalServerException(ErrorCode.ATHENA_QUERY_FAILED);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof BusinessException be) throw be;
+            log.error("Athena 쿼리 실행 오류: {}", e.getCause().getMessage());
+            throw new InternalServerException(ErrorCode.ATHENA_QUERY_FAILED);
         }
     }
 
-    private String startQuery(String sql) {
-        return athenaClient.startQueryExecution(StartQueryExecutionRequest.builder()
-                .queryString(sql)
-                .queryExecutionContext(QueryExecutionContext.builder()
-                        .database(database)
-                        .build())
-                .resultConfiguration(ResultConfiguration.builder()
-                        .outputLocation(outputLocation)
-                        .build())
-                .build()).queryExecutionId();
-    }
-
-    private void waitForCompletion(String queryExecutionId) throws InterruptedException {
-        while (true) {
-            QueryExecutionStatus status = athenaClient.getQueryExecution(
-                    GetQueryExecutionRequest.builder()
-                            .queryExecutionId(queryExecutionId)
-                            .build()
-            ).queryExecution().status();
-
-            QueryExecutionState state = status.state();
-            log.debug("Athena 쿼리 상태: {}", state);
-
-            if (state == QueryExecutionState.SUCCEEDED) return;
-            if (state == QueryExecutionState.FAILED || state == QueryExecutionState.CANCELLED) {
-                log.error("Athena 쿼리 실패 - 원인: {}", status.stateChangeReason());
-                throw new InternalServerException(ErrorCode.ATHENA_QUERY_FAILED);
-            }
-            Thread.sleep(500);
-        }
-    }
-
-    private String fetchResults(String queryExecutionId) {
-        GetQueryResultsResponse response = athenaClient.getQueryResults(
-                GetQueryResultsRequest.builder()
-                        .queryExecutionId(queryExecutionId)
-                        .build());
-
-        List<Row> rows = response.resultSet().rows();
-        if (rows.size() <= 1) return "조회 결과 없음";
-
-        List<String> headers = rows.get(0).data().stream()
-                .map(Datum::varCharValue)
-                .toList();
-
-        int dataRowCount = rows.size() - 1;
-        log.info("Athena 쿼리 결과: {}건", dataRowCount);
-
-        return rows.subList(1, rows.size()).stream()
-                .map(row -> {
-                    List<String> values = row.data().stream()
-                            .map(d -> {
-                                String v = d.varCharValue();
-                                // 마크다운 헤딩 오인 방지: # 기호 이스케이프
-                                return v != null ? v.replace("#", "\\#") : "";
-                            })
-                            .toList();
-                    StringBuilder sb = new StringBuilder("{");
-                    for (int i = 0; i < headers.size(); i++) {
-                        if (i > 0) sb.append(", ");
-                        sb.append(headers.get(i)).append(": ").append(values.get(i));
-                    }
-                    return sb.append("}").toString();
-                })
-                .collect(Collectors.joining("\n"));
-    }
-
-    private String fetchResultsAsJson(String queryExecutionId) {
-        GetQueryResultsResponse response = athenaClient.getQueryResults(
-                GetQueryResultsRequest.builder()
-                        .queryExecutionId(queryExecutionId)
-                        .build());
-
-        List<Row> rows = response.resultSet().rows();
-        if (rows.size() <= 1) return "[]";
-
-        List<String> headers = rows.get(0).data().stream()
-                .map(Datum::varCharValue)
-                .toList();
-
-        return rows.subList(1, rows.size()).stream()
-                .map(row -> {
-                    List<String> values = row.data().stream()
-                            .map(d -> d.varCharValue() != null ? d.varCharValue() : "")
-                            .toList();
-                    StringBuilder obj = new StringBuilder("{");
-                    for (int i = 0; i < headers.size(); i++) {
-                        if (i > 0) obj.append(",");
-                        String key = headers.get(i).replace("\"", "\\\"");
-                        String raw = i < values.size() ? values.get(i) : "";
-                        obj.append("\"").append(key).append("\":").append(toJsonValue(raw));
-                    }
-                    return obj.append("}").toString();
-                })
-                .collect(Collectors.joining(",", "[", "]"));
-    }
-
-    private static String toJsonValue(String value) {
-        if (value == null || value.isEmpty()) return "null";
-        try {
-            Long.parseLong(value);
-            return value;
-        } catch (NumberFormatException ignored) {}
-        try {
-            Double.parseDouble(value);
-            return value;
-        } catch (NumberFormatException ignored) {}
-        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    /**
+     * 같은 의미의 SQL(fingerprint 동일)은 캐시된 결과를 반환하고 Athena를 호출하지 않는다
+     */
+    public CompletableFuture<AthenaResult> executeQueryAsync(String sql, AthenaWorkload workload) {
+        SqlFingerprint fingerprint = SqlFingerprint.of(sql);
+        Optional<AthenaResult> cached = athenaResultCache.get(fingerprint);
+        if (cached.isPresent()) return CompletableFuture.completedFuture(cached.get());
+
+        // 엔진 future를 그대로 반환해야 cancel이 실행 중인 쿼리까지 전달된다
+        CompletableFuture<AthenaResult> execution = athenaQueryEngine.execute(sql, workload);
+        execution.thenAccept(result -> athenaResultCache.put(fingerprint, result));
+        return execution;
     }
 }
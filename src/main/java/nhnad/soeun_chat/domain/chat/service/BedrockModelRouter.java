@@ -0,0 +1,87 @@
+package nhnad.soeun_chat.domain.chat.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 호출 단계별 Bedrock 모델 선택
+ * - 짧고 지연에 민감한 단계(요약, 단일 SQL, 짧은 질문·후속 질문)는 빠른 소형 모델
+ * - 여러 테이블을 엮는 분석과 리포트는 기본(대형) 모델
+ * fast-model-id가 비어 있으면 모든 단계가 기본 모델을 쓴다.
+ */
+@Slf4j
+@Component
+public class BedrockModelRouter {
+
+    public static final String TIER_LARGE = "large";
+    public static final String TIER_FAST = "fast";
+
+    @Value("${aws.bedrock.model-id}")
+    private String largeModelId;
+
+    @Value("${aws.bedrock.routing.fast-model-id:}")
+    private String fastModelId;
+
+    // 빠른 모델로 보낼 단계 (Stage.tag 목록)
+    @Value("${aws.bedrock.routing.fast-stages:sql,chat_simple,summary}")
+    private List<String> fastStages;
+
+    // 이 길이 이하이면서 아래 키워드가 없는 질문을 단순 질문으로 본다
+    @Value("${aws.bedrock.routing.simple-question-max-chars:40}")
+    private int simpleQuestionMaxChars;
+
+    // 매체/캠페인 비교, 추이·원인 분석처럼 여러 쿼리나 긴 해설이 필요한 질문의 표시
+    @Value("${aws.bedrock.routing.complex-keywords:비교,대비,통합,전체,매체별,캠페인별,추이,원인,분석,리포트,보고서}")
+    private List<String> complexKeywords;
+
+    public enum Stage {
+        SQL("sql"),
+        CHAT_SIMPLE("chat_simple"),
+        CHAT("chat"),
+        REPORT("report"),
+        SUMMARY("summary");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+
+        public String tag() {
+            return tag;
+        }
+    }
+
+    public record Route(Stage stage, String modelId, String tier) {}
+
+    public Route route(Stage stage) {
+        if (fastModelId.isBlank() || !fastStages.contains(stage.tag())) {
+            return new Route(stage, largeModelId, TIER_LARGE);
+        }
+        return new Route(stage, fastModelId, TIER_FAST);
+    }
+
+    /**
+     * 채팅 질문의 단계: 짧고 분석 키워드가 없으면 CHAT_SIMPLE (짧은 후속 질문 포함)
+     */
+    public Stage chatStage(String question) {
+        String trimmed = question.trim();
+        if (trimmed.length() > simpleQuestionMaxChars) return Stage.CHAT;
+        for (String keyword : complexKeywords) {
+            if (!keyword.isBlank() && trimmed.contains(keyword.trim())) return Stage.CHAT;
+        }
+        return Stage.CHAT_SIMPLE;
+    }
+
+    /**
+     * 빠른 모델이 만든 쿼리가 실패했을 때 남은 반복을 맡길 경로
+     */
+    public Route escalate(Route route) {
+        if (!TIER_FAST.equals(route.tier())) return route;
+        log.info("빠른 모델 결과 실패 - 기본 모델로 전환 ({})", route.stage().tag());
+        return new Route(Stage.CHAT, largeModelId, TIER_LARGE);
+    }
+}
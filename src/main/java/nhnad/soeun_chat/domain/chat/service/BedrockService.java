@@ -1,9 +1,12 @@
 package nhnad.soeun_chat.domain.chat.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import nhnad.soeun_chat.domain.chat.dto.ChatMessage;
+import nhnad.soeun_chat.global.athena.AthenaResult;
+import nhnad.soeun_chat.global.athena.AthenaWorkload;
 import nhnad.soeun_chat.global.error.ErrorCode;
 import nhnad.soeun_chat.global.exception.InternalServerException;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,22 +19,55 @@ import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeClient;
 import software.amazon.awssdk.services.bedrockruntime.model.*;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class BedrockService {
 
-    @Value("${aws.bedrock.model-id}")
-    private String modelId;
+    // 정적인 시스템 프롬프트/도구 정의 뒤에 캐시 지점을 둔다 (프롬프트 캐시를 지원하지 않는 모델이면 false)
+    @Value("${aws.bedrock.prompt-cache.enabled:true}")
+    private boolean promptCacheEnabled;
+
+    // 응답 텍스트 SSE 전송: 이만큼 쌓이면 바로, 아니면 최대 이 시간 안에 내보낸다
+    @Value("${aws.bedrock.stream.flush-max-chars:20}")
+    private int streamFlushMaxChars;
+
+    @Value("${aws.bedrock.stream.flush-max-delay-ms:30}")
+    private long streamFlushMaxDelayMillis;
 
     private final BedrockRuntimeClient bedrockRuntimeClient;
     private final BedrockRuntimeAsyncClient bedrockRuntimeAsyncClient;
     private final AthenaService athenaService;
+    private final SqlPreflightAnalyzer sqlPreflightAnalyzer;
+    private final PromptDateMapping promptDateMapping;
+    private final BedrockUsageMetrics bedrockUsageMetrics;
+    private final BedrockModelRouter bedrockModelRouter;
+    // tool 입력 준비(사전 점검, Redis 캐시/lease 조회)를 Bedrock 이벤트 스트림 스레드 밖에서 수행
+    private final Executor toolCallExecutor;
+    private final SemanticSqlCache semanticSqlCache;
     private final ObjectMapper objectMapper;
 
+    private final ScheduledExecutorService streamFlushScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "sse-text-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final String ATHENA_TOOL_NAME = "execute_athena_query";
+
     private static final String SQL_SYSTEM_PROMPT = """
         ================================
         CRITICAL INSTRUCTION (READ FIRST)
@@ -93,19 +129,19 @@ public class BedrockService {
         2. Always include partition columns in WHERE clause.
 
            [CRITICAL] DATE MAPPING — FIXED REFERENCE DATES:
-           Available data is FIXED to 2026-02-01 (Mon) ~ 2026-02-07 (Sun) ONLY.
+           Available data is FIXED to {{DATA_FROM}} ~ {{DATA_TO}} ONLY.
            Map all relative date expressions to this fixed range:
 
            | User says            | SQL condition                                      |
            |----------------------|----------------------------------------------------|
-           | 이번 주 / 지난 7일   | basic_date BETWEEN 20260201 AND 20260207           |
-           | 오늘                 | basic_date = 20260207                              |
-           | 어제                 | basic_date = 20260206                              |
-           | 날짜 미지정 (default)| year='2026' AND month_p='02'                       |
-           | 이번 달 / 2월        | year='2026' AND month_p='02'                       |
+           | 이번 주 / 지난 7일   | {{WEEK_PARTITIONS}} AND basic_date BETWEEN {{WEEK_FROM}} AND {{LATEST}} |
+           | 오늘                 | basic_date = {{LATEST}}                              |
+           | 어제                 | basic_date = {{YESTERDAY}}                              |
+           | 날짜 미지정 (default)| year='{{YEAR}}' AND month_p='{{MONTH}}'                       |
+           | 이번 달 / {{MONTH_LABEL}}        | year='{{YEAR}}' AND month_p='{{MONTH}}'                       |
 
            NEVER use CURRENT_DATE or dynamic date functions.
-           WARNING: Data outside 20260201~20260207 does not exist and will return empty results.
+           WARNING: Data outside {{DATA_FROM_BASIC}}~{{LATEST}} does not exist and will return empty results.
         
         3. Partition columns are VARCHAR type.
            WARNING: NEVER use YEAR(), MONTH() functions — they return BIGINT and cause TYPE_MISMATCH error.
@@ -155,99 +191,15 @@ public class BedrockService {
         ================================
         ROLE
         ================================
-        You are a weekly ad performance report generator.
-        You MUST execute exactly the following 4 SQL queries in order, then write a structured report.
+        You are a weekly ad performance report writer.
+        The results of the weekly report queries are given below the user's request.
+        They are already shown to the reader as charts, so write ONLY the analysis text.
         RESPONSE LANGUAGE: Korean only.
 
         ================================
-        STEP 1 — EXECUTE 4 FIXED QUERIES (IN ORDER)
+        WRITE REPORT IN EXACTLY 3 SECTIONS
         ================================
-        Execute these 4 queries sequentially using execute_athena_query tool.
-        Do NOT skip any query. Do NOT ask the user. Just execute all 4.
-
-        [Query 1] 매체별 광고비 합계 (pie chart)
-        SELECT
-          '구글' AS "매체",
-          ROUND(SUM(cost_micros) / 1000000.0, 0) AS "광고비(원)"
-        FROM se_report_db.google_ad_performance
-        WHERE year='2026' AND month_p='02' AND basic_date BETWEEN 20260201 AND 20260207
-        UNION ALL
-        SELECT
-          '카카오' AS "매체",
-          ROUND(SUM(spending), 0) AS "광고비(원)"
-        FROM se_report_db.kakao_ad_performance
-        WHERE year='2026' AND month_p='02' AND basic_date BETWEEN 20260201 AND 20260207
-
-        [Query 2] 일별 매체 통합 광고비 추이 (line chart)
-        SELECT
-          SUBSTR(CAST(basic_date AS VARCHAR),1,4)||'-'||SUBSTR(CAST(basic_date AS VARCHAR),5,2)||'-'||SUBSTR(CAST(basic_date AS VARCHAR),7,2) AS "날짜",
-          ROUND(SUM(cost_micros)/1000000.0,0) AS "구글 광고비(원)",
-          0 AS "카카오 광고비(원)"
-        FROM se_report_db.google_ad_performance
-        WHERE year='2026' AND month_p='02' AND basic_date BETWEEN 20260201 AND 20260207
-        GROUP BY basic_date
-        UNION ALL
-        SELECT
-          SUBSTR(CAST(basic_date AS VARCHAR),1,4)||'-'||SUBSTR(CAST(basic_date AS VARCHAR),5,2)||'-'||SUBSTR(CAST(basic_date AS VARCHAR),7,2) AS "날짜",
-          0 AS "구글 광고비(원)",
-          ROUND(SUM(spending),0) AS "카카오 광고비(원)"
-        FROM se_report_db.kakao_ad_performance
-        WHERE year='2026' AND month_p='02' AND basic_date BETWEEN 20260201 AND 20260207
-        GROUP BY basic_date
-        ORDER BY "날짜"
-
-        [Query 3] 구글 캠페인별 성과 (bar chart)
-        SELECT
-          camp_name AS "캠페인명",
-          SUM(clicks) AS "클릭수",
-          ROUND(SUM(cost_micros)/1000000.0, 0) AS "광고비(원)"
-        FROM se_report_db.google_ad_performance
-        WHERE year='2026' AND month_p='02' AND basic_date BETWEEN 20260201 AND 20260207
-        GROUP BY camp_name
-        ORDER BY "클릭수" DESC
-        LIMIT 5
-
-        [Query 4] 주간 일별 상세 지표 (table)
-        SELECT
-          SUBSTR(CAST(basic_date AS VARCHAR),1,4)||'-'||SUBSTR(CAST(basic_date AS VARCHAR),5,2)||'-'||SUBSTR(CAST(basic_date AS VARCHAR),7,2) AS "날짜",
-          SUM(g_imp) AS "구글 노출",
-          SUM(g_click) AS "구글 클릭",
-          ROUND(SUM(g_cost),0) AS "구글 광고비(원)",
-          SUM(k_imp) AS "카카오 노출",
-          SUM(k_click) AS "카카오 클릭",
-          ROUND(SUM(k_cost),0) AS "카카오 광고비(원)"
-        FROM (
-          SELECT basic_date,
-            SUM(impressions) AS g_imp, SUM(clicks) AS g_click,
-            SUM(cost_micros)/1000000.0 AS g_cost,
-            0 AS k_imp, 0 AS k_click, 0 AS k_cost
-          FROM se_report_db.google_ad_performance
-          WHERE year='2026' AND month_p='02' AND basic_date BETWEEN 20260201 AND 20260207
-          GROUP BY basic_date
-          UNION ALL
-          SELECT basic_date,
-            0 AS g_imp, 0 AS g_click, 0 AS g_cost,
-            SUM(imp) AS k_imp, SUM(click) AS k_click, SUM(spending) AS k_cost
-          FROM se_report_db.kakao_ad_performance
-          WHERE year='2026' AND month_p='02' AND basic_date BETWEEN 20260201 AND 20260207
-          GROUP BY basic_date
-        )
-        GROUP BY basic_date
-        ORDER BY basic_date
-
-        ================================
-        STEP 2 — CHART TYPE ASSIGNMENT
-        ================================
-        After each query result, send the data with the correct chart type:
-        - Query 1 result → chartType: "pie"
-        - Query 2 result → chartType: "line"
-        - Query 3 result → chartType: "bar"
-        - Query 4 result → chartType: "table"
-
-        ================================
-        STEP 3 — WRITE REPORT IN EXACTLY 3 SECTIONS
-        ================================
-        After all 4 queries are done, write the analysis using EXACTLY this structure.
+        Write the analysis using EXACTLY this structure.
         DO NOT add any other sections. DO NOT change section titles.
 
         ## 성과 요약
@@ -265,7 +217,8 @@ public class BedrockService {
         ================================
         STRICT RULES
         ================================
-        1. Execute ALL 4 queries before writing the report. No exceptions.
+        1. Use ONLY the numbers in the given query results. Never invent numbers.
+           If a result is marked as failed, do not guess its values.
         2. Section titles MUST be exactly: "성과 요약", "주요 인사이트", "개선 제안"
         3. Do NOT add intro sentences like "분석을 시작하겠습니다" or "안녕하세요".
         4. Do NOT use emoji in section titles.
@@ -273,6 +226,30 @@ public class BedrockService {
         6. Respond in Korean only.
         """;
 
+    private static final String SUMMARY_SYSTEM_PROMPT = """
+        ================================
+        ROLE
+        ================================
+        You maintain a running summary of a conversation between a user and an ad performance analysis assistant.
+        You are given the previous summary (may be empty) and older turns that no longer fit in the context.
+        Produce ONE updated summary that merges both. It replaces the previous summary.
+        RESPONSE LANGUAGE: Korean only.
+
+        ================================
+        KEEP
+        ================================
+        - What the user asked, including media (구글/카카오), campaigns, and date ranges
+        - Key numbers from the answers, with units and the period they belong to
+        - Conclusions, and open follow-ups the user may refer back to
+
+        ================================
+        STRICT RULES
+        ================================
+        1. Plain sentences or "- " bullets only. No headings, tables, or chart tags.
+        2. Never invent numbers. Drop details that later turns would not refer back to.
+        3. Output ONLY the summary text.
+        """;
+
     private static final String AGENTIC_SYSTEM_PROMPT = """
         ================================
         CRITICAL INSTRUCTION (READ FIRST)
@@ -323,19 +300,21 @@ public class BedrockService {
             - Generate SQL queries and call execute_athena_query tool
             - Explain results clearly in Korean, like a trusted analyst sitting next to the user
             
-            [CRITICAL] Available data is FIXED to 2026-02-01 (Mon) ~ 2026-02-07 (Sun)
+            [CRITICAL] Available data is FIXED to {{DATA_FROM}} ~ {{DATA_TO}}
         Analyze user questions, generate SQL queries, call execute_athena_query tool, and explain results in Korean.
 
-        [CRITICAL] Available data is FIXED to 2026-02-01 (Mon) ~ 2026-02-07 (Sun) ONLY.
+        [CRITICAL] Available data is FIXED to {{DATA_FROM}} ~ {{DATA_TO}} ONLY.
         This is temporary test data. Map ALL relative date expressions as follows:
-        - "이번 주" / "지난 7일" → 2026-02-01 ~ 2026-02-07 (basic_date BETWEEN 20260201 AND 20260207)
-        - "오늘"                 → 2026-02-07 (basic_date = 20260207)
-        - "어제"                 → 2026-02-06 (basic_date = 20260206)
-        - 날짜 미지정 (default)  → year='2026' AND month_p='02'
-        - "이번 달" / "2월"      → year='2026' AND month_p='02'
+        - "이번 주" / "지난 7일" → {{WEEK_FROM_ISO}} ~ {{LATEST_ISO}} ({{WEEK_PARTITIONS}} AND basic_date BETWEEN {{WEEK_FROM}} AND {{LATEST}})
+        - "오늘"                 → {{LATEST_ISO}} (basic_date = {{LATEST}})
+        - "어제"                 → {{YESTERDAY_ISO}} (basic_date = {{YESTERDAY}})
+        - 날짜 미지정 (default)  → year='{{YEAR}}' AND month_p='{{MONTH}}'
+        - "이번 달" / "{{MONTH_LABEL}}"      → year='{{YEAR}}' AND month_p='{{MONTH}}'
 
-        WARNING: Never use CURRENT_DATE. Data outside 20260201~20260207 does not exist.
+        WARNING: Never use CURRENT_DATE. Data outside {{DATA_FROM_BASIC}}~{{LATEST}} does not exist.
         Cross-platform (Google + Kakao) comparison is possible using UNION ALL.
+        If a question needs several independent queries (e.g. a Google breakdown AND a Kakao breakdown),
+        call execute_athena_query for ALL of them in the same response. They are executed in parallel.
 
         ================================
         REQUEST TYPE CLASSIFICATION (REQUIRED FIRST STEP)
@@ -449,21 +428,21 @@ public class BedrockService {
         9. Korean aliases require double quotes: AS "노출수", AS "클릭수"
         10. UNION ALL: Never put ORDER BY inside individual SELECT. Only at the very end.
         11. [CRITICAL] DATE MAPPING — use fixed reference dates:
-            - "이번 주" / "지난 7일" → basic_date BETWEEN 20260201 AND 20260207
-            - "오늘"                 → basic_date = 20260207
-            - "어제"                 → basic_date = 20260206
-            - 날짜 미지정 (default)  → year='2026' AND month_p='02'
+            - "이번 주" / "지난 7일" → {{WEEK_PARTITIONS}} AND basic_date BETWEEN {{WEEK_FROM}} AND {{LATEST}}
+            - "오늘"                 → basic_date = {{LATEST}}
+            - "어제"                 → basic_date = {{YESTERDAY}}
+            - 날짜 미지정 (default)  → year='{{YEAR}}' AND month_p='{{MONTH}}'
             NEVER use CURRENT_DATE or dynamic date functions.
-            WARNING: Data outside 20260201~20260207 will return empty results.
+            WARNING: Data outside {{DATA_FROM_BASIC}}~{{LATEST}} will return empty results.
 
         UNION ALL example:
         SELECT '구글' AS "매체", SUM(cost_micros) / 1000000.0 AS "광고비(원)", SUM(clicks) AS "클릭수"
         FROM se_report_db.google_ad_performance
-        WHERE year='2026' AND month_p='02'
+        WHERE year='{{YEAR}}' AND month_p='{{MONTH}}'
         UNION ALL
         SELECT '카카오' AS "매체", SUM(spending) AS "광고비(원)", SUM(click) AS "클릭수"
         FROM se_report_db.kakao_ad_performance
-        WHERE year='2026' AND month_p='02'
+        WHERE year='{{YEAR}}' AND month_p='{{MONTH}}'
 
         ================================
         RESPONSE RULES (KOREAN OUTPUT)
@@ -677,24 +656,43 @@ public class BedrockService {
         """;
 
     private static class IterationState {
-        final StringBuilder text      = new StringBuilder();
-        final StringBuilder inputJson = new StringBuilder();
-        final StringBuilder sseBuffer = new StringBuilder();
-        String toolUseId  = null;
-        String toolName   = null;
+        final StringBuilder text = new StringBuilder();
+        // 한 응답에 tool use 블록이 여러 개 올 수 있다 (content block index → 호출)
+        final Map<Integer, ToolCall> toolCalls = new LinkedHashMap<>();
         String stopReason = null;
     }
 
+    private static class ToolCall {
+        final String toolUseId;
+        final String toolName;
+        final StringBuilder inputJson = new StringBuilder();
+        // 입력 파싱·사전 점검·쿼리 시작을 이미 했는지 (블록 종료 시점 또는 스트림 종료 후 한 번, call 잠금 안에서)
+        boolean prepared = false;
+        String sql = null;
+        CompletableFuture<AthenaResult> execution = null;
+        ToolResultStatus status = null;
+        String content = null;
+
+        ToolCall(String toolUseId, String toolName) {
+            this.toolUseId = toolUseId;
+            this.toolName  = toolName;
+        }
+    }
+
     public String generateSql(String userMessage, List<ChatMessage> history) {
         List<Message> messages = buildConverseMessages(userMessage, history);
+        BedrockModelRouter.Route route = bedrockModelRouter.route(BedrockModelRouter.Stage.SQL);
 
+        long startedAt = System.nanoTime();
         ConverseResponse response = bedrockRuntimeClient.converse(
                 ConverseRequest.builder()
-                        .modelId(modelId)
-                        .system(SystemContentBlock.fromText(SQL_SYSTEM_PROMPT))
+                        .modelId(route.modelId())
+                        .system(systemBlocks(promptDateMapping.render(SQL_SYSTEM_PROMPT)))
                         .messages(messages)
                         .build()
         );
+        bedrockUsageMetrics.recordDuration(route, startedAt);
+        bedrockUsageMetrics.record(route, response.usage());
 
         return response.output().message().content().get(0).text().trim();
     }
@@ -703,37 +701,149 @@ public class BedrockService {
 
     public record AgenticLoopResult(String answer, String structuredDataJson, String chartType, List<ChartData> chartDataList) {}
 
-    public AgenticLoopResult runAgenticLoop(SseEmitter emitter, String userMessage, List<ChatMessage> history, boolean isReport) {
-        String systemPrompt = isReport ? REPORT_SYSTEM_PROMPT : AGENTIC_SYSTEM_PROMPT;
+    /**
+     * 리포트 본문(3개 섹션)을 한 번의 호출로 작성한다 (쿼리는 호출 측에서 미리 실행)
+     *
+     * @param queryResults 고정 쿼리 결과를 제목과 함께 이어붙인 텍스트
+     */
+    public String writeReport(String userMessage, String queryResults) {
+        BedrockModelRouter.Route route = bedrockModelRouter.route(BedrockModelRouter.Stage.REPORT);
+
+        long startedAt = System.nanoTime();
+        ConverseResponse response = bedrockRuntimeClient.converse(
+                ConverseRequest.builder()
+                        .modelId(route.modelId())
+                        .system(systemBlocks(REPORT_SYSTEM_PROMPT))
+                        .messages(Message.builder()
+                                .role(ConversationRole.USER)
+                                .content(ContentBlock.fromText(userMessage + "\n\n[조회 결과]\n" + queryResults))
+                                .build())
+                        .build()
+        );
+        bedrockUsageMetrics.recordDuration(route, startedAt);
+        bedrockUsageMetrics.record(route, response.usage());
+
+        return response.output().message().content().get(0).text().trim();
+    }
+
+    /**
+     * 기존 요약에 오래된 대화 턴을 합쳐 새 요약을 만든다 (다음 턴부터 이 요약이 원문 대신 들어간다)
+     *
+     * @param previousSummary 기존 요약, 없으면 null
+     * @param turns           요약에 새로 합칠 메시지 (오래된 순)
+     */
+    public String summarizeConversation(String previousSummary, List<ChatMessage> turns, int maxTokens) {
+        StringBuilder input = new StringBuilder("[이전 요약]\n")
+                .append(previousSummary != null ? previousSummary : "(없음)")
+                .append("\n\n[요약에 합칠 대화]\n");
+        for (ChatMessage turn : turns) {
+            input.append("user".equals(turn.role()) ? "사용자: " : "어시스턴트: ")
+                    .append(CHART_TYPE_TAG_PATTERN.matcher(turn.content()).replaceAll("").trim())
+                    .append("\n");
+        }
+
+        BedrockModelRouter.Route route = bedrockModelRouter.route(BedrockModelRouter.Stage.SUMMARY);
+
+        long startedAt = System.nanoTime();
+        ConverseResponse response = bedrockRuntimeClient.converse(
+                ConverseRequest.builder()
+                        .modelId(route.modelId())
+                        .system(systemBlocks(SUMMARY_SYSTEM_PROMPT))
+                        .messages(Message.builder()
+                                .role(ConversationRole.USER)
+                                .content(ContentBlock.fromText(input.toString()))
+                                .build())
+                        .inferenceConfig(InferenceConfiguration.builder().maxTokens(maxTokens).build())
+                        .build()
+        );
+        bedrockUsageMetrics.recordDuration(route, startedAt);
+        bedrockUsageMetrics.record(route, response.usage());
+
+        return response.output().message().content().get(0).text().trim();
+    }
+
+    /**
+     * cancellation이 취소되면(클라이언트 연결 종료) 진행 중인 스트림/쿼리를 끊고 그때까지의 결과로 반환한다
+     */
+    public AgenticLoopResult runAgenticLoop(SseEmitter emitter, String userId, String userMessage,
+                                            List<ChatMessage> history, CancellationToken cancellation) {
+        // 날짜 매핑은 적재된 파티션 기준으로 채운다
+        String systemPrompt = promptDateMapping.render(AGENTIC_SYSTEM_PROMPT);
+        AthenaWorkload workload = AthenaWorkload.chat(userId);
         List<Message> messages = buildConverseMessages(userMessage, history);
+        // 짧은 단순 질문은 빠른 모델로 시작하고, 쿼리가 실패하면 남은 반복을 기본 모델로 넘긴다
+        BedrockModelRouter.Route route = bedrockModelRouter.route(bedrockModelRouter.chatStage(userMessage));
+        log.info("채팅 모델 경로 - stage: {}, model: {}", route.stage().tag(), route.modelId());
         StringBuilder fullAnswer = new StringBuilder();
         ToolConfiguration toolConfig = buildToolConfiguration();
         String lastStructuredDataJson = null;
         String lastChartType = null;
         List<ChartData> chartDataList = new ArrayList<>();
-        int queryCount = 0;
+        // 결과가 있는 쿼리 (정확히 1개일 때만 의미 캐시에 저장)
+        List<String> answeredSql = new ArrayList<>();
+
+        // 대화의 첫 질문만 의미 캐시 대상 (앞 맥락에 따라 뜻이 달라지는 후속 질문은 제외)
+        SemanticSqlCache.Lookup cacheLookup = history.isEmpty()
+                ? semanticSqlCache.lookup(userMessage)
+                : SemanticSqlCache.Lookup.NONE;
+        if (cacheLookup.isHit()) {
+            // 적중하면 SQL 생성 턴 없이 바로 Athena를 실행하고, 모델은 결과 해설부터 시작한다
+            ToolCall cached = new ToolCall("cached_" + UUID.randomUUID().toString().replace("-", ""), ATHENA_TOOL_NAME);
+            cached.sql = cacheLookup.sql();
+            sendStatus(emitter, cancellation, "querying", "데이터를 조회하고 있어요...");
+            try {
+                AthenaResult athenaResult = athenaService.await(
+                        cancellation.track(athenaService.executeQueryAsync(cached.sql, workload)));
+                cached.status  = ToolResultStatus.SUCCESS;
+                cached.content = athenaResult.text();
+                lastStructuredDataJson = athenaResult.json();
+                lastChartType = sendChartData(emitter, cancellation, "", athenaResult.json(), chartDataList);
+
+                messages.add(Message.builder()
+                        .role(ConversationRole.ASSISTANT)
+                        .content(toolUseBlock(cached))
+                        .build());
+                addToolResults(messages, List.of(cached));
+            } catch (CancellationException e) {
+                log.info("클라이언트 연결 종료로 Athena 쿼리 대기 중단");
+            } catch (Exception e) {
+                if (!cancellation.isCancelled()) {
+                    // 캐시된 SQL이 더는 유효하지 않음 → 지우고 평소처럼 SQL 생성부터
+                    log.warn("의미 캐시 SQL 실행 실패 - 일반 경로로 진행: {}", e.getMessage());
+                    semanticSqlCache.invalidate(cacheLookup);
+                    cacheLookup = cacheLookup.withoutHit();
+                }
+            }
+        }
 
         for (int iter = 0; iter < 5; iter++) {
+            if (cancellation.isCancelled()) break;
             log.info("Agentic loop iteration {}", iter + 1);
             if (iter == 0) {
                 log.info("Status emit 시작: thinking");
-                sendStatus(emitter, "thinking", "질문을 분석하고 있어요...");
+                sendStatus(emitter, cancellation, "thinking", "질문을 분석하고 있어요...");
                 log.info("Status emit 완료: thinking");
             } else {
-                sendStatus(emitter, "thinking", "추가 분석을 진행하고 있어요...");
+                sendStatus(emitter, cancellation, "thinking", "추가 분석을 진행하고 있어요...");
             }
 
             IterationState state = new IterationState();
+            BedrockModelRouter.Route turnRoute = route;
+            SseTextStream textStream = new SseTextStream(emitter, cancellation, streamFlushScheduler,
+                    streamFlushMaxChars, streamFlushMaxDelayMillis);
 
             ConverseStreamResponseHandler handler = ConverseStreamResponseHandler.builder()
                     .subscriber(ConverseStreamResponseHandler.Visitor.builder()
                             .onContentBlockStart(event -> {
                                 ToolUseBlockStart toolUse = event.start().toolUse();
                                 if (toolUse != null) {
-                                    state.toolUseId = toolUse.toolUseId();
-                                    state.toolName  = toolUse.name();
-                                    log.info("Tool use started: {} ({})", state.toolName, state.toolUseId);
-                                    sendStatus(emitter, "querying", "데이터를 조회하고 있어요...");
+                                    if (state.toolCalls.isEmpty()) {
+                                        // 앞서 쓴 텍스트가 상태 이벤트보다 먼저 가도록
+                                        textStream.flush();
+                                        sendStatus(emitter, cancellation, "querying", "데이터를 조회하고 있어요...");
+                                    }
+                                    state.toolCalls.put(event.contentBlockIndex(), new ToolCall(toolUse.toolUseId(), toolUse.name()));
+                                    log.info("Tool use started: {} ({})", toolUse.name(), toolUse.toolUseId());
                                 }
                             })
                             .onContentBlockDelta(event -> {
@@ -743,30 +853,26 @@ public class BedrockService {
 
                                     state.text.append(deltaText);
                                     fullAnswer.append(deltaText);
-                                    state.sseBuffer.append(deltaText);
-
-                                    String buf = state.sseBuffer.toString();
-                                    char last = buf.charAt(buf.length() - 1);
-                                    boolean shouldFlush = last == ' ' || last == '\n'
-                                            || last == '.' || last == '!' || last == '?'
-                                            || last == ',' || last == '\u3002' // 。
-                                            || deltaText.contains("##")
-                                            || state.sseBuffer.length() >= 20;
-                                    if (shouldFlush) {
-                                        try {
-                                            String cleanBuf = CHART_TYPE_TAG_PATTERN.matcher(buf).replaceAll("").trim();
-                                            if (!cleanBuf.isEmpty()) {
-                                                emitter.send(SseEmitter.event().name("message").data(cleanBuf, MediaType.TEXT_PLAIN));
-                                            }
-                                        } catch (Exception e) {
-                                            log.warn("SSE 전송 실패: {}", e.getMessage());
-                                        }
-                                        state.sseBuffer.setLength(0);
-                                    }
+                                    textStream.append(deltaText);
                                 } else if (delta.toolUse() != null && delta.toolUse().input() != null) {
-                                    state.inputJson.append(delta.toolUse().input());
+                                    ToolCall call = state.toolCalls.get(event.contentBlockIndex());
+                                    if (call != null) call.inputJson.append(delta.toolUse().input());
                                 }
                             })
+                            .onContentBlockStop(event -> {
+                                // tool 입력이 끝나는 즉시 쿼리를 시작해 남은 스트림 수신과 Athena 대기를 겹친다
+                                ToolCall call = state.toolCalls.get(event.contentBlockIndex());
+                                // 이 콜백은 SDK 이벤트 루프에서 돌므로 준비 작업은 넘기기만 한다
+                                if (call != null && !cancellation.isCancelled()) {
+                                    try {
+                                        toolCallExecutor.execute(() -> prepareToolCall(call, workload, cancellation));
+                                    } catch (RejectedExecutionException e) {
+                                        // 풀이 가득 차면 스트림 종료 후 채팅 루프가 직접 준비한다
+                                        log.debug("tool 준비 작업 대기열 초과 - 스트림 종료 후 준비: {}", call.toolUseId);
+                                    }
+                                }
+                            })
+                            .onMetadata(event -> bedrockUsageMetrics.record(turnRoute, event.usage()))
                             .onMessageStop(event -> {
                                 state.stopReason = event.stopReasonAsString();
                                 log.info("stopReason: {}", state.stopReason);
@@ -774,45 +880,46 @@ public class BedrockService {
                             .build())
                     .build();
 
+            long startedAt = System.nanoTime();
             try {
-                bedrockRuntimeAsyncClient.converseStream(
+                cancellation.track(bedrockRuntimeAsyncClient.converseStream(
                         ConverseStreamRequest.builder()
-                                .modelId(modelId)
-                                .system(SystemContentBlock.fromText(systemPrompt))
+                                .modelId(turnRoute.modelId())
+                                .system(systemBlocks(systemPrompt))
                                 .messages(messages)
                                 .toolConfig(toolConfig)
                                 .build(),
                         handler
-                ).get();
+                )).get();
+                bedrockUsageMetrics.recordDuration(turnRoute, startedAt);
+            } catch (CancellationException e) {
+                log.info("클라이언트 연결 종료로 Bedrock 스트림 중단");
+                break;
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 throw new InternalServerException(ErrorCode.CHAT_PROCESSING_ERROR);
             } catch (ExecutionException e) {
                 log.error("Bedrock 스트리밍 실패: {}", e.getMessage());
+                cancelExecutions(state.toolCalls.values());
                 throw new InternalServerException(ErrorCode.CHAT_PROCESSING_ERROR);
+            } finally {
+                // 스트림 종료 후 버퍼에 남은 내용 flush (취소된 경우 전송 없이 정리만)
+                textStream.close();
             }
 
-            // 스트림 종료 후 버퍼에 남은 내용 flush
-            if (state.sseBuffer.length() > 0) {
-                try {
-                    String cleanRemaining = CHART_TYPE_TAG_PATTERN.matcher(state.sseBuffer.toString()).replaceAll("").trim();
-                    if (!cleanRemaining.isEmpty()) {
-                        emitter.send(SseEmitter.event().name("message").data(cleanRemaining, MediaType.TEXT_PLAIN));
-                    }
-                } catch (Exception e) {
-                    log.warn("SSE 잔여 버퍼 전송 실패: {}", e.getMessage());
-                }
-                state.sseBuffer.setLength(0);
-            }
+            if (cancellation.isCancelled()) break;
 
-            // Parse SQL from accumulated tool input JSON
-            String sql = null;
-            if (state.toolUseId != null && state.inputJson.length() > 0) {
-                try {
-                    sql = objectMapper.readTree(state.inputJson.toString()).get("sql").asText();
-                } catch (Exception e) {
-                    log.error("SQL 파싱 실패: {}", e.getMessage());
-                }
+            // 아직 시작되지 않은 준비 작업은 여기서 직접 하고, 이미 진행 중이면 call 잠금에서 끝나기를 기다린다
+            // (대기열에 남은 작업은 나중에 실행돼도 prepared를 보고 바로 끝난다. 파싱에 실패한 호출은 대화 기록에서 뺀다)
+            List<ToolCall> toolCalls = new ArrayList<>();
+            for (ToolCall call : state.toolCalls.values()) {
+                if (cancellation.isCancelled()) break;
+                prepareToolCall(call, workload, cancellation);
+                if (call.sql != null) toolCalls.add(call);
+            }
+            if (cancellation.isCancelled()) {
+                cancelExecutions(state.toolCalls.values());
+                break;
             }
 
             // Reconstruct assistant message and add to history
@@ -820,14 +927,8 @@ public class BedrockService {
             if (state.text.length() > 0) {
                 assistantContent.add(ContentBlock.fromText(state.text.toString()));
             }
-            if (state.toolUseId != null && sql != null) {
-                assistantContent.add(ContentBlock.fromToolUse(
-                        ToolUseBlock.builder()
-                                .toolUseId(state.toolUseId)
-                                .name(state.toolName)
-                                .input(Document.mapBuilder().putString("sql", sql).build())
-                                .build()
-                ));
+            for (ToolCall call : toolCalls) {
+                assistantContent.add(toolUseBlock(call));
             }
             if (!assistantContent.isEmpty()) {
                 messages.add(Message.builder()
@@ -837,60 +938,58 @@ public class BedrockService {
             }
 
             // Decide next step
-            if (!"tool_use".equals(state.stopReason) || state.toolUseId == null || sql == null) {
+            if (!"tool_use".equals(state.stopReason) || toolCalls.isEmpty()) {
+                // tool_use로 끝나지 않은 턴(max_tokens 등)에서 미리 시작한 쿼리는 결과를 쓰지 않는다
+                cancelExecutions(toolCalls);
                 break;
             }
+            if (toolCalls.size() > 1) log.info("한 턴에 쿼리 {}개 동시 실행", toolCalls.size());
 
-            // Execute Athena query and feed result back to Claude
-            String toolResultContent;
-            ToolResultStatus toolResultStatus;
-            try {
-                AthenaService.AthenaResult athenaResult = athenaService.executeQuery(sql);
-                toolResultContent = athenaResult.text();
-                toolResultStatus  = ToolResultStatus.SUCCESS;
-                lastStructuredDataJson = athenaResult.json();
-                log.info("Athena 쿼리 성공");
-                sendStatus(emitter, "analyzing", "결과를 분석하고 있어요...");
+            // 결과는 블록 순서대로 처리한다
+            boolean analyzingSent = false;
+            for (ToolCall call : toolCalls) {
+                if (call.execution == null) continue;
 
+                AthenaResult athenaResult;
                 try {
-                    if (isReport) {
-                        lastChartType = switch (queryCount) {
-                            case 0 -> "pie";
-                            case 1 -> "line";
-                            case 2 -> "bar";
-                            case 3 -> "table";
-                            default -> "table";
-                        };
-                    } else {
-                        // Claude 응답 텍스트에서 <chartType> 태그 추출 (폴백: JSON 구조 기반)
-                        lastChartType = extractChartType(state.text.toString(), athenaResult.json());
-                    }
-                    chartDataList.add(new ChartData(lastChartType, athenaResult.json()));
-                    String dataPayload = "{\"chartType\":\"" + lastChartType + "\","
-                            + "\"data\":" + athenaResult.json() + "}";
-                    emitter.send(SseEmitter.event()
-                            .name("data")
-                            .data(dataPayload, MediaType.APPLICATION_JSON));
+                    athenaResult = athenaService.await(call.execution);
+                } catch (CancellationException e) {
+                    log.info("클라이언트 연결 종료로 Athena 쿼리 대기 중단");
+                    break;
                 } catch (Exception e) {
-                    log.warn("데이터 SSE 전송 실패: {}", e.getMessage());
+                    if (cancellation.isCancelled()) {
+                        log.info("클라이언트 연결 종료로 Athena 쿼리 대기 중단");
+                        break;
+                    }
+                    call.status  = ToolResultStatus.ERROR;
+                    call.content = "쿼리 실행 실패: " + e.getMessage();
+                    log.error("Athena 쿼리 실패: {}", e.getMessage());
+                    continue;
                 }
-                queryCount++;
-            } catch (Exception e) {
-                toolResultContent = "쿼리 실행 실패: " + e.getMessage();
-                toolResultStatus  = ToolResultStatus.ERROR;
-                log.error("Athena 쿼리 실패: {}", e.getMessage());
+
+                call.status  = ToolResultStatus.SUCCESS;
+                call.content = athenaResult.text();
+                lastStructuredDataJson = athenaResult.json();
+                if (athenaResult.rowCount() > 0) answeredSql.add(call.sql);
+                log.info("Athena 쿼리 성공");
+                if (!analyzingSent) {
+                    sendStatus(emitter, cancellation, "analyzing", "결과를 분석하고 있어요...");
+                    analyzingSent = true;
+                }
+
+                lastChartType = sendChartData(emitter, cancellation, state.text.toString(), athenaResult.json(), chartDataList);
             }
+            if (cancellation.isCancelled()) break;
 
-            messages.add(Message.builder()
-                    .role(ConversationRole.USER)
-                    .content(ContentBlock.fromToolResult(
-                            ToolResultBlock.builder()
-                                    .toolUseId(state.toolUseId)
-                                    .status(toolResultStatus)
-                                    .content(ToolResultContentBlock.fromText(toolResultContent))
-                                    .build()
-                    ))
-                    .build());
+            if (toolCalls.stream().anyMatch(call -> call.status == ToolResultStatus.ERROR)) {
+                route = bedrockModelRouter.escalate(route);
+            }
+            addToolResults(messages, toolCalls);
+        }
+
+        // 쿼리 하나로 답한 질문만 저장 (여러 쿼리를 조합한 답은 SQL 하나로 재현되지 않음)
+        if (!cacheLookup.isHit() && !cancellation.isCancelled() && answeredSql.size() == 1) {
+            semanticSqlCache.put(cacheLookup, userMessage, answeredSql.get(0));
         }
 
         // 사용자에게 노출되는 텍스트에서 <chartType> 태그 제거
@@ -898,12 +997,125 @@ public class BedrockService {
         return new AgenticLoopResult(cleanAnswer, lastStructuredDataJson, lastChartType, chartDataList);
     }
 
-    private void sendStatus(SseEmitter emitter, String step, String message) {
+    /**
+     * 호출마다 한 번만 준비한다: 먼저 call 잠금을 잡은 스레드가 준비하고, 나중 스레드는 끝날 때까지 기다렸다 돌아간다
+     */
+    private void prepareToolCall(ToolCall call, AthenaWorkload workload, CancellationToken cancellation) {
+        synchronized (call) {
+            if (call.prepared) return;
+            call.prepared = true;
+            if (cancellation.isCancelled()) return;
+            startToolCall(call, workload, cancellation);
+        }
+    }
+
+    /**
+     * tool 입력에서 SQL을 꺼내 사전 점검 후 Athena 쿼리를 시작한다
+     * 파싱에 실패하면 sql이 null로 남고, 사전 점검에서 거절되면 실행 없이 오류 결과를 채운다.
+     */
+    private void startToolCall(ToolCall call, AthenaWorkload workload, CancellationToken cancellation) {
+        if (call.inputJson.length() == 0) return;
+
+        try {
+            call.sql = objectMapper.readTree(call.inputJson.toString()).get("sql").asText();
+        } catch (Exception e) {
+            log.error("SQL 파싱 실패: {}", e.getMessage());
+            return;
+        }
+
+        // 파티션 조건 누락 등은 Athena 실행 없이 바로 모델에게 돌려보내 고치게 한다
+        SqlPreflightAnalyzer.Result preflight = sqlPreflightAnalyzer.analyze(call.sql);
+        if (preflight.isRejected()) {
+            call.status  = ToolResultStatus.ERROR;
+            call.content = "쿼리 사전 점검 실패: " + preflight.error();
+            return;
+        }
+        call.sql = preflight.sql();
+        try {
+            call.execution = cancellation.track(athenaService.executeQueryAsync(call.sql, workload));
+        } catch (Exception e) {
+            call.status  = ToolResultStatus.ERROR;
+            call.content = "쿼리 실행 실패: " + e.getMessage();
+            log.error("Athena 쿼리 시작 실패: {}", e.getMessage());
+            return;
+        }
+        log.info("Athena 쿼리 시작: {}", call.toolUseId);
+    }
+
+    private static void cancelExecutions(Collection<ToolCall> toolCalls) {
+        for (ToolCall call : toolCalls) {
+            // 진행 중인 준비 작업이 있으면 끝날 때까지 기다렸다가 시작된 쿼리를 취소하고, 이후 준비는 막는다
+            synchronized (call) {
+                call.prepared = true;
+                if (call.execution != null) call.execution.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * 쿼리 결과를 차트 데이터로 보내고 목록에 추가한다
+     *
+     * @param assistantText <chartType> 태그를 찾을 모델 응답 텍스트 (없으면 JSON 구조 기반으로 판단)
+     * @return 선택된 차트 타입
+     */
+    private String sendChartData(SseEmitter emitter, CancellationToken cancellation, String assistantText,
+                                 String json, List<ChartData> chartDataList) {
+        String chartType = extractChartType(assistantText, json);
+        chartDataList.add(new ChartData(chartType, json));
+        try {
+            String dataPayload = "{\"chartType\":\"" + chartType + "\","
+                    + "\"data\":" + json + "}";
+            emitter.send(SseEmitter.event()
+                    .name("data")
+                    .data(dataPayload, MediaType.APPLICATION_JSON));
+        } catch (Exception e) {
+            log.warn("데이터 SSE 전송 실패: {}", e.getMessage());
+            cancellation.cancel();
+        }
+        return chartType;
+    }
+
+    private ContentBlock toolUseBlock(ToolCall call) {
+        return ContentBlock.fromToolUse(
+                ToolUseBlock.builder()
+                        .toolUseId(call.toolUseId)
+                        .name(call.toolName)
+                        .input(Document.mapBuilder().putString("sql", call.sql).build())
+                        .build()
+        );
+    }
+
+    // 같은 턴의 tool use 블록마다 결과 블록 하나씩, 사용자 메시지 하나로 돌려준다
+    private void addToolResults(List<Message> messages, List<ToolCall> toolCalls) {
+        List<ContentBlock> results = new ArrayList<>();
+        for (ToolCall call : toolCalls) {
+            results.add(ContentBlock.fromToolResult(
+                    ToolResultBlock.builder()
+                            .toolUseId(call.toolUseId)
+                            .status(call.status)
+                            .content(ToolResultContentBlock.fromText(call.content))
+                            .build()
+            ));
+        }
+        messages.add(Message.builder()
+                .role(ConversationRole.USER)
+                .content(results)
+                .build());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streamFlushScheduler.shutdownNow();
+    }
+
+    private void sendStatus(SseEmitter emitter, CancellationToken cancellation, String step, String message) {
         try {
             String payload = "{\"step\":\"" + step + "\",\"message\":\"" + message + "\"}";
             emitter.send(SseEmitter.event().name("status").data(payload, MediaType.APPLICATION_JSON));
         } catch (Exception e) {
             log.warn("Status SSE 전송 실패: {}", e.getMessage());
+            // 전송 실패 = 클라이언트 연결 종료
+            cancellation.cancel();
         }
     }
 
@@ -942,6 +1154,19 @@ public class BedrockService {
         return "table";
     }
 
+    /**
+     * 시스템 프롬프트 뒤에 캐시 지점을 붙인다.
+     * 렌더링된 프롬프트는 기준일이 바뀔 때까지 같은 문자열이므로 루프 반복/다른 요청에서도 캐시를 읽는다.
+     */
+    private List<SystemContentBlock> systemBlocks(String prompt) {
+        if (!promptCacheEnabled) return List.of(SystemContentBlock.fromText(prompt));
+        return List.of(SystemContentBlock.fromText(prompt), SystemContentBlock.fromCachePoint(cachePoint()));
+    }
+
+    private static CachePointBlock cachePoint() {
+        return CachePointBlock.builder().type(CachePointType.DEFAULT).build();
+    }
+
     private ToolConfiguration buildToolConfiguration() {
         Document inputSchema = Document.mapBuilder()
                 .putString("type", "object")
@@ -957,15 +1182,19 @@ public class BedrockService {
                         .build())
                 .build();
 
+        List<Tool> tools = new ArrayList<>();
+        tools.add(Tool.fromToolSpec(
+                ToolSpecification.builder()
+                        .name(ATHENA_TOOL_NAME)
+                        .description("AWS Athena를 사용하여 광고 성과 데이터를 조회합니다. " +
+                                   "제공된 SQL을 실행하고 결과를 반환합니다.")
+                        .inputSchema(ToolInputSchema.fromJson(inputSchema))
+                        .build()
+        ));
+        if (promptCacheEnabled) tools.add(Tool.fromCachePoint(cachePoint()));
+
         return ToolConfiguration.builder()
-                .tools(Tool.fromToolSpec(
-                        ToolSpecification.builder()
-                                .name("execute_athena_query")
-                                .description("AWS Athena를 사용하여 광고 성과 데이터를 조회합니다. " +
-                                           "제공된 SQL을 실행하고 결과를 반환합니다.")
-                                .inputSchema(ToolInputSchema.fromJson(inputSchema))
-                                .build()
-                ))
+                .tools(tools)
                 .build();
     }
 
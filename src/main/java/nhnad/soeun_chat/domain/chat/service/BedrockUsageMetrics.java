@@ -0,0 +1,64 @@
+package nhnad.soeun_chat.domain.chat.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.bedrockruntime.model.TokenUsage;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bedrock 호출 1건의 토큰 사용량과 소요시간 수집 (프롬프트 캐시 적중 여부, 단계별 모델 라우팅 효과 확인용)
+ * bedrock.tokens{call=chat|chat_simple|sql|report|summary, tier=large|fast, type=input|output|cache_read|cache_write}
+ * bedrock.call.duration{call, tier}
+ * input은 캐시에서 읽거나 캐시에 쓴 토큰을 제외한 나머지 입력 토큰이다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BedrockUsageMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public void record(BedrockModelRouter.Route route, TokenUsage usage) {
+        if (usage == null) return;
+
+        String call = route.stage().tag();
+        long input = valueOf(usage.inputTokens());
+        long output = valueOf(usage.outputTokens());
+        long cacheRead = valueOf(usage.cacheReadInputTokens());
+        long cacheWrite = valueOf(usage.cacheWriteInputTokens());
+
+        counter(call, route.tier(), "input").increment(input);
+        counter(call, route.tier(), "output").increment(output);
+        counter(call, route.tier(), "cache_read").increment(cacheRead);
+        counter(call, route.tier(), "cache_write").increment(cacheWrite);
+
+        log.info("Bedrock 토큰 사용량 - call: {}, model: {}, input: {}, output: {}, cacheRead: {}, cacheWrite: {}",
+                call, route.modelId(), input, output, cacheRead, cacheWrite);
+    }
+
+    /**
+     * @param startedAtNanos 호출 시작 시각 (System.nanoTime)
+     */
+    public void recordDuration(BedrockModelRouter.Route route, long startedAtNanos) {
+        Timer.builder("bedrock.call.duration")
+                .tags("call", route.stage().tag(), "tier", route.tier())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedAtNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Counter counter(String call, String tier, String type) {
+        return Counter.builder("bedrock.tokens")
+                .tags("call", call, "tier", tier, "type", type)
+                .register(meterRegistry);
+    }
+
+    private static long valueOf(Integer value) {
+        return value != null ? value : 0L;
+    }
+}
@@ -0,0 +1,35 @@
+package nhnad.soeun_chat.domain.chat.service;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 채팅 요청 1건의 협력적 취소 신호
+ * SSE 연결이 끊기면 cancel()되고, track()으로 등록된 진행 중 작업(Bedrock 스트림, Athena 쿼리)을 함께 취소한다.
+ */
+public final class CancellationToken {
+
+    private volatile boolean cancelled;
+    private final Set<CompletableFuture<?>> tracked = ConcurrentHashMap.newKeySet();
+
+    public void cancel() {
+        if (cancelled) return;
+        cancelled = true;
+        tracked.forEach(future -> future.cancel(true));
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 취소 시 함께 cancel할 작업을 등록한다. 이미 취소된 상태면 즉시 cancel된다.
+     */
+    public <T> CompletableFuture<T> track(CompletableFuture<T> future) {
+        tracked.add(future);
+        future.whenComplete((result, error) -> tracked.remove(future));
+        if (cancelled) future.cancel(true);
+        return future;
+    }
+}
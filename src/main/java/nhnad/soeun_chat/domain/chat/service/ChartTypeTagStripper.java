@@ -0,0 +1,85 @@
+package nhnad.soeun_chat.domain.chat.service;
+
+/**
+ * 스트리밍 텍스트에서 <chartType>xxx</chartType> 태그를 글자 단위로 걸러낸다
+ * 태그일 수 있는 부분만 잡아두고, 이미 내보낸 텍스트는 다시 보지 않는다.
+ */
+final class ChartTypeTagStripper {
+
+    interface Sink {
+        void accept(char c);
+    }
+
+    private static final String[] TAGS = {
+            "<chartType>line</chartType>",
+            "<chartType>bar</chartType>",
+            "<chartType>pie</chartType>",
+            "<chartType>table</chartType>"
+    };
+    private static final int ALL_TAGS = (1 << TAGS.length) - 1;
+
+    private final Sink sink;
+    private final char[] held = new char[TAGS[3].length()];
+    private int heldLength;
+    // 지금까지 잡아둔 글자와 앞부분이 일치하는 태그 (TAGS 인덱스 비트마스크)
+    private int candidates;
+
+    ChartTypeTagStripper(Sink sink) {
+        this.sink = sink;
+    }
+
+    void feed(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            feed(text.charAt(i));
+        }
+    }
+
+    /**
+     * 스트림 끝: 완성되지 않은 태그 조각은 일반 텍스트로 내보낸다
+     */
+    void finish() {
+        for (int i = 0; i < heldLength; i++) {
+            sink.accept(held[i]);
+        }
+        heldLength = 0;
+    }
+
+    private void feed(char c) {
+        if (heldLength == 0) {
+            if (c == '<') {
+                held[heldLength++] = c;
+                candidates = ALL_TAGS;
+            } else {
+                sink.accept(c);
+            }
+            return;
+        }
+
+        int matching = 0;
+        for (int t = 0; t < TAGS.length; t++) {
+            if ((candidates & (1 << t)) != 0 && TAGS[t].charAt(heldLength) == c) matching |= 1 << t;
+        }
+        if (matching != 0) {
+            held[heldLength++] = c;
+            candidates = matching;
+            for (int t = 0; t < TAGS.length; t++) {
+                // 태그 완성 → 통째로 버린다
+                if ((matching & (1 << t)) != 0 && TAGS[t].length() == heldLength) {
+                    heldLength = 0;
+                    return;
+                }
+            }
+            return;
+        }
+
+        // 태그가 아님: 맨 앞 '<'만 내보내고 나머지는 다시 검사한다 (중간에 '<'가 있을 수 있음)
+        // 다시 잡아두는 위치는 항상 읽는 위치보다 앞이라 held를 그대로 재사용해도 안전하다
+        int length = heldLength;
+        heldLength = 0;
+        sink.accept(held[0]);
+        for (int i = 1; i < length; i++) {
+            feed(held[i]);
+        }
+        feed(c);
+    }
+}
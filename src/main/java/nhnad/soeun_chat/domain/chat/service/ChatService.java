@@ -2,7 +2,6 @@ package nhnad.soeun_chat.domain.chat.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import nhnad.soeun_chat.domain.chat.dto.ChatMessage;
 import nhnad.soeun_chat.domain.chat.repository.ConversationRepository;
 import nhnad.soeun_chat.domain.chat.repository.MessageRepository;
 import nhnad.soeun_chat.domain.conversation.service.ConversationService;
@@ -10,9 +9,11 @@ import nhnad.soeun_chat.global.exception.BusinessException;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
 import java.time.Instant;
-import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -23,34 +24,44 @@ public class ChatService {
     private final MessageRepository messageRepository;
     private final BedrockService bedrockService;
     private final ConversationService conversationService;
+    private final ConversationContextManager conversationContextManager;
 
     @Async("chatExecutor")
     public void processChat(SseEmitter emitter,
+                            CancellationToken cancellation,
                             String conversationId,
                             String userId,
                             String userMessage) {
+        // 실행 대기 중에 이미 연결이 끊겼다면 스레드를 바로 반납
+        if (cancellation.isCancelled()) {
+            log.info("[{}] 클라이언트 연결 종료 - 처리 생략", conversationId);
+            return;
+        }
         try {
             // 1. 대화 컨텍스트 로드 또는 생성
-            if (conversationRepository.findById(conversationId).isEmpty()) {
+            Optional<Map<String, AttributeValue>> conversation = conversationRepository.findById(conversationId);
+            if (conversation.isEmpty()) {
                 conversationRepository.save(conversationId, userId);
             }
 
-            // 2. 이전 메시지 히스토리 조회
-            List<ChatMessage> history = messageRepository.findByConversationId(conversationId).stream()
-                    .map(item -> new ChatMessage(
-                            item.get("role").s(),
-                            item.get("content").s()
-                    ))
-                    .toList();
+            // 2. 이전 대화: 요약 + 토큰 예산 안의 최근 턴 원문
+            ConversationContextManager.ConversationContext context =
+                    conversationContextManager.load(conversationId, conversation.orElse(null));
 
             // 3. Bedrock Agentic Loop (SQL 생성 → Athena 쿼리 → 답변 스트리밍)
-            BedrockService.AgenticLoopResult loopResult = bedrockService.runAgenticLoop(emitter, userMessage, history, false);
+            BedrockService.AgenticLoopResult loopResult = bedrockService.runAgenticLoop(emitter, userId, userMessage, context.history(), cancellation);
             String fullAnswer = loopResult.answer();
 
+            // 중간에 끊긴 응답은 히스토리에 남기지 않는다 (다음 질문의 컨텍스트 오염 방지)
+            if (cancellation.isCancelled()) {
+                log.info("[{}] 클라이언트 연결 종료로 처리 중단", conversationId);
+                return;
+            }
+
             // 4. DynamoDB에 대화 기록 저장
-            boolean isFirstMessage = history.isEmpty();
-            messageRepository.save(conversationId, "user", userMessage, null, null);
-            messageRepository.save(conversationId, "assistant", fullAnswer, loopResult.structuredDataJson(), loopResult.chartType());
+            boolean isFirstMessage = context.isFirstTurn();
+            String userCreatedAt = messageRepository.save(conversationId, "user", userMessage, null, null);
+            String answerCreatedAt = messageRepository.save(conversationId, "assistant", fullAnswer, loopResult.structuredDataJson(), loopResult.chartType());
             conversationService.updateUpdatedAt(conversationId, Instant.now().toEpochMilli());
 
             // 5. 첫 메시지이면 사용자 메시지 앞 20자로 제목 자동 생성
@@ -64,6 +75,9 @@ public class ChatService {
             emitter.send(SseEmitter.event().name("done").data("[DONE]"));
             emitter.complete();
 
+            // 6. 응답을 마친 뒤 예산을 넘는 오래된 턴을 요약에 합친다 (사용자는 기다리지 않음)
+            conversationContextManager.afterTurn(context, userMessage, userCreatedAt, fullAnswer, answerCreatedAt);
+
         } catch (BusinessException e) {
             log.error("[{}] 채팅 처리 실패: {} ({})", conversationId, e.getErrorCode().name(), e.getMessage());
             try {
@@ -0,0 +1,151 @@
+package nhnad.soeun_chat.domain.chat.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import nhnad.soeun_chat.domain.chat.dto.ChatMessage;
+import nhnad.soeun_chat.domain.chat.repository.ConversationRepository;
+import nhnad.soeun_chat.domain.chat.repository.MessageRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 모델에 보낼 대화 컨텍스트를 토큰 예산 안에서 구성한다
+ * - 요약 이후의 메시지 중 최근 턴(사용자 질문 + 답변)을 예산 안에서 원문 그대로 보낸다 (가장 최근 턴은 항상 포함)
+ * - 예산을 넘는 오래된 턴은 대화 항목의 요약(summary)으로 대신하고, 턴이 끝날 때마다 넘친 턴만 요약에 이어서 합친다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConversationContextManager {
+
+    private static final int MESSAGE_OVERHEAD_TOKENS = 4;
+    private static final String SUMMARY_ACK = "네, 이전 대화 내용을 참고해 이어서 답변하겠습니다.";
+
+    // 원문으로 보낼 최근 턴의 예산 (요약 제외)
+    @Value("${chat.context.max-history-tokens:3000}")
+    private int maxHistoryTokens;
+
+    // 요약 이후 메시지 조회 상한 (요약이 매 턴 갱신되므로 보통 예산보다 조금 많은 정도만 쌓인다)
+    @Value("${chat.context.max-unsummarized-messages:40}")
+    private int maxUnsummarizedMessages;
+
+    @Value("${chat.context.summary-max-tokens:500}")
+    private int summaryMaxTokens;
+
+    private final ConversationRepository conversationRepository;
+    private final MessageRepository messageRepository;
+    private final BedrockService bedrockService;
+
+    public record StoredMessage(ChatMessage message, String createdAt, int tokens) {}
+
+    /**
+     * @param summary      지금까지의 요약, 없으면 null
+     * @param unsummarized 요약에 아직 합쳐지지 않은 메시지 (오래된 순)
+     * @param history      모델에 보낼 히스토리 (요약이 있으면 맨 앞에 요약 한 쌍)
+     */
+    public record ConversationContext(String conversationId, String summary, List<StoredMessage> unsummarized,
+                                      List<ChatMessage> history) {
+
+        public boolean isFirstTurn() {
+            return summary == null && unsummarized.isEmpty();
+        }
+    }
+
+    /**
+     * @param conversation 대화 항목, 새 대화면 null
+     */
+    public ConversationContext load(String conversationId, Map<String, AttributeValue> conversation) {
+        String summary = attr(conversation, "summary");
+        List<StoredMessage> unsummarized = new ArrayList<>();
+        if (conversation != null) {
+            String summarizedUntil = attr(conversation, "summarizedUntil");
+            for (Map<String, AttributeValue> item
+                    : messageRepository.findByConversationIdAfter(conversationId, summarizedUntil, maxUnsummarizedMessages)) {
+                String content = item.get("content").s();
+                unsummarized.add(new StoredMessage(new ChatMessage(item.get("role").s(), content),
+                        item.get("createdAt").s(), estimateTokens(content)));
+            }
+        }
+
+        int keepFrom = fit(unsummarized);
+        if (keepFrom > 0) {
+            // 요약 갱신이 실패했던 경우: 이번 턴에는 빼고 보내고, 턴이 끝나면 다시 요약을 시도한다
+            log.info("[{}] 컨텍스트 예산 초과 - 오래된 메시지 {}개 제외", conversationId, keepFrom);
+        }
+
+        List<ChatMessage> history = new ArrayList<>();
+        if (summary != null) {
+            history.add(new ChatMessage("user", "[이전 대화 요약]\n" + summary));
+            history.add(new ChatMessage("assistant", SUMMARY_ACK));
+        }
+        for (StoredMessage stored : unsummarized.subList(keepFrom, unsummarized.size())) {
+            history.add(stored.message());
+        }
+        return new ConversationContext(conversationId, summary, unsummarized, history);
+    }
+
+    /**
+     * 이번 턴까지 포함해 예산을 넘는 오래된 턴을 요약에 합친다 (실패하면 다음 턴에 다시 시도)
+     */
+    public void afterTurn(ConversationContext context, String userMessage, String userCreatedAt,
+                          String answer, String answerCreatedAt) {
+        List<StoredMessage> messages = new ArrayList<>(context.unsummarized());
+        messages.add(new StoredMessage(new ChatMessage("user", userMessage), userCreatedAt, estimateTokens(userMessage)));
+        messages.add(new StoredMessage(new ChatMessage("assistant", answer), answerCreatedAt, estimateTokens(answer)));
+
+        int keepFrom = fit(messages);
+        if (keepFrom == 0) return;
+
+        List<StoredMessage> overflow = messages.subList(0, keepFrom);
+        try {
+            long startedAt = System.currentTimeMillis();
+            String summary = bedrockService.summarizeConversation(context.summary(),
+                    overflow.stream().map(StoredMessage::message).toList(), summaryMaxTokens);
+            conversationRepository.updateSummary(context.conversationId(), summary,
+                    overflow.get(overflow.size() - 1).createdAt());
+            log.info("[{}] 대화 요약 갱신 - 메시지 {}개 합침 ({}ms)", context.conversationId(), overflow.size(),
+                    System.currentTimeMillis() - startedAt);
+        } catch (Exception e) {
+            log.warn("[{}] 대화 요약 갱신 실패 - 다음 턴에 다시 시도: {}", context.conversationId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 원문으로 남길 첫 메시지 위치: 최근 턴부터 턴 단위로 예산 안에 드는 만큼 (턴은 사용자 메시지에서 시작)
+     */
+    private int fit(List<StoredMessage> messages) {
+        int keepFrom = messages.size();
+        int total = 0;
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            total += messages.get(i).tokens();
+            if (!"user".equals(messages.get(i).message().role())) continue;
+            if (total > maxHistoryTokens && keepFrom < messages.size()) break;
+            keepFrom = i;
+        }
+        return keepFrom;
+    }
+
+    /**
+     * 토큰 수 추정: 한글 등 비ASCII는 글자당 1, ASCII는 4글자당 1
+     */
+    static int estimateTokens(String text) {
+        int ascii = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < 0x80) ascii++;
+            else other++;
+        }
+        return other + (ascii + 3) / 4 + MESSAGE_OVERHEAD_TOKENS;
+    }
+
+    private static String attr(Map<String, AttributeValue> item, String key) {
+        if (item == null) return null;
+        AttributeValue v = item.get(key);
+        return v != null ? v.s() : null;
+    }
+}
@@ -0,0 +1,87 @@
+package nhnad.soeun_chat.domain.chat.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 코사인 유사도용 근사 최근접 이웃 인덱스 (random hyperplane LSH)
+ * - 테이블마다 bits개의 무작위 초평면으로 벡터를 bits비트 서명으로 바꾸고, 서명이 같은 벡터끼리 한 버킷에 둔다
+ * - 어느 한 테이블에서라도 같은 버킷에 든 항목이 후보가 되며, 호출 측이 후보만 정확한 코사인으로 다시 비교한다
+ * 초평면은 고정 seed로 만들어 재기동 후에도 같은 서명이 나온다.
+ */
+final class LshIndex {
+
+    private final int dimensions;
+    // [테이블][비트][차원]
+    private final float[][][] hyperplanes;
+    // 테이블별 서명 → 항목 ID
+    private final List<Map<Integer, Set<Integer>>> buckets = new ArrayList<>();
+
+    LshIndex(int dimensions, int tables, int bits, long seed) {
+        if (bits < 1 || bits > 31) throw new IllegalArgumentException("bits must be 1..31: " + bits);
+        this.dimensions = dimensions;
+        this.hyperplanes = new float[tables][bits][dimensions];
+        Random random = new Random(seed);
+        for (float[][] table : hyperplanes) {
+            for (float[] plane : table) {
+                for (int d = 0; d < dimensions; d++) plane[d] = (float) random.nextGaussian();
+            }
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    synchronized void add(int id, float[] vector) {
+        for (int t = 0; t < hyperplanes.length; t++) {
+            buckets.get(t).computeIfAbsent(signature(t, vector), s -> new HashSet<>()).add(id);
+        }
+    }
+
+    synchronized void remove(int id, float[] vector) {
+        for (int t = 0; t < hyperplanes.length; t++) {
+            int signature = signature(t, vector);
+            Set<Integer> bucket = buckets.get(t).get(signature);
+            if (bucket == null) continue;
+            bucket.remove(id);
+            if (bucket.isEmpty()) buckets.get(t).remove(signature);
+        }
+    }
+
+    synchronized Set<Integer> candidates(float[] vector) {
+        Set<Integer> candidates = new HashSet<>();
+        for (int t = 0; t < hyperplanes.length; t++) {
+            Set<Integer> bucket = buckets.get(t).get(signature(t, vector));
+            if (bucket != null) candidates.addAll(bucket);
+        }
+        return candidates;
+    }
+
+    int dimensions() {
+        return dimensions;
+    }
+
+    static double cosine(float[] a, float[] b) {
+        double dot = 0, normA = 0, normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot   += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return normA == 0 || normB == 0 ? 0 : dot / Math.sqrt(normA * normB);
+    }
+
+    private int signature(int table, float[] vector) {
+        int signature = 0;
+        float[][] planes = hyperplanes[table];
+        for (int b = 0; b < planes.length; b++) {
+            double dot = 0;
+            for (int d = 0; d < dimensions; d++) dot += planes[b][d] * vector[d];
+            if (dot >= 0) signature |= 1 << b;
+        }
+        return signature;
+    }
+}
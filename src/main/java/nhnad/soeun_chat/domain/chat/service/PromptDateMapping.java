@@ -0,0 +1,149 @@
+package nhnad.soeun_chat.domain.chat.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import nhnad.soeun_chat.global.athena.AthenaPartitionCatalog;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 시스템 프롬프트의 날짜 자리표시자({{LATEST}} 등)를 적재된 파티션 기준 날짜로 채운다
+ * - 오늘 = 가장 최근 적재일, 어제 = 그 전날, 이번 주 = 최근 7일, 이번 달 = 최근 적재일이 속한 달
+ * - 이번 주가 달(해)을 넘으면 {{WEEK_PARTITIONS}}가 걸친 달의 파티션을 모두 포함한다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PromptDateMapping {
+
+    private static final DateTimeFormatter BASIC_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final AthenaPartitionCatalog athenaPartitionCatalog;
+
+    // 같은 기준일이면 렌더링 결과를 재사용 (프롬프트 원문 → 렌더링 결과)
+    private volatile Rendered rendered;
+
+    private record Rendered(AthenaPartitionCatalog.DataRange range, Map<String, String> prompts) {}
+
+    /**
+     * 이번 주로 쓰는 기간 (적재 시작일보다 앞이면 적재 시작일부터라 7일보다 짧을 수 있다)
+     */
+    public record Week(LocalDate from, LocalDate to) {
+
+        public int days() {
+            return (int) ChronoUnit.DAYS.between(from, to) + 1;
+        }
+    }
+
+    /**
+     * 한 시점의 적재 기간으로 고정한 렌더러
+     * 리포트처럼 여러 쿼리와 기간 표기가 같은 기간을 써야 할 때, 중간에 파티션 목록이 갱신돼도 기간이 바뀌지 않는다.
+     */
+    public final class Snapshot {
+
+        private final AthenaPartitionCatalog.DataRange range;
+
+        private Snapshot(AthenaPartitionCatalog.DataRange range) {
+            this.range = range;
+        }
+
+        public String render(String template) {
+            return PromptDateMapping.this.render(template, range);
+        }
+
+        public Week week() {
+            return PromptDateMapping.week(range);
+        }
+    }
+
+    /**
+     * 파티션 목록을 아직 얻지 못했으면 오늘 날짜 기준으로 채운다
+     */
+    public String render(String template) {
+        return render(template, dataRange());
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(dataRange());
+    }
+
+    private String render(String template, AthenaPartitionCatalog.DataRange range) {
+        Rendered current = rendered;
+        if (current == null || !current.range().equals(range)) {
+            current = new Rendered(range, new ConcurrentHashMap<>());
+            rendered = current;
+        }
+        return current.prompts().computeIfAbsent(template, t -> fill(t, range));
+    }
+
+    private AthenaPartitionCatalog.DataRange dataRange() {
+        return athenaPartitionCatalog.dataRange().orElseGet(() -> {
+            log.warn("파티션 목록이 없어 오늘 날짜 기준으로 프롬프트 날짜를 채움");
+            LocalDate today = LocalDate.now();
+            return new AthenaPartitionCatalog.DataRange(today.minusDays(6), today);
+        });
+    }
+
+    private static Week week(AthenaPartitionCatalog.DataRange range) {
+        LocalDate latest = range.latest();
+        LocalDate weekFrom = latest.minusDays(6).isBefore(range.earliest()) ? range.earliest() : latest.minusDays(6);
+        return new Week(weekFrom, latest);
+    }
+
+    private static String fill(String template, AthenaPartitionCatalog.DataRange range) {
+        LocalDate latest = range.latest();
+        LocalDate yesterday = latest.minusDays(1);
+        LocalDate weekFrom = week(range).from();
+
+        return template
+                .replace("{{WEEK_PARTITIONS}}", partitionPredicate(weekFrom, latest))
+                .replace("{{DATA_FROM}}", withDayOfWeek(range.earliest()))
+                .replace("{{DATA_TO}}", withDayOfWeek(latest))
+                .replace("{{DATA_FROM_BASIC}}", range.earliest().format(BASIC_DATE))
+                .replace("{{WEEK_FROM_ISO}}", weekFrom.toString())
+                .replace("{{WEEK_FROM}}", weekFrom.format(BASIC_DATE))
+                .replace("{{LATEST_ISO}}", latest.toString())
+                .replace("{{LATEST}}", latest.format(BASIC_DATE))
+                .replace("{{YESTERDAY_ISO}}", yesterday.toString())
+                .replace("{{YESTERDAY}}", yesterday.format(BASIC_DATE))
+                .replace("{{YEAR}}", String.valueOf(latest.getYear()))
+                .replace("{{MONTH_LABEL}}", latest.getMonthValue() + "월")
+                .replace("{{MONTH}}", String.format("%02d", latest.getMonthValue()));
+    }
+
+    /**
+     * from~to가 걸친 달의 year/month_p 조건
+     * year='2026' AND month_p='02' / year='2026' AND month_p IN ('01','02') /
+     * ((year='2025' AND month_p='12') OR (year='2026' AND month_p='01'))
+     */
+    static String partitionPredicate(LocalDate from, LocalDate to) {
+        Map<String, List<String>> months = new TreeMap<>();
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+            months.computeIfAbsent(String.valueOf(month.getYear()), y -> new ArrayList<>())
+                    .add("'" + String.format("%02d", month.getMonthValue()) + "'");
+        }
+        List<String> predicates = months.entrySet().stream()
+                .map(e -> "year='" + e.getKey() + "' AND month_p"
+                        + (e.getValue().size() == 1 ? "=" + e.getValue().get(0) : " IN (" + String.join(",", e.getValue()) + ")"))
+                .toList();
+        if (predicates.size() == 1) return predicates.get(0);
+        return "(" + predicates.stream().map(p -> "(" + p + ")").collect(Collectors.joining(" OR ")) + ")";
+    }
+
+    // 2026-02-01 (Sun)
+    private static String withDayOfWeek(LocalDate date) {
+        return date + " (" + date.getDayOfWeek().getDisplayName(TextStyle.SHORT, Locale.ENGLISH) + ")";
+    }
+}
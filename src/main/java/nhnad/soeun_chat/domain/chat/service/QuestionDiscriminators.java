@@ -0,0 +1,71 @@
+package nhnad.soeun_chat.domain.chat.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 임베딩 유사도로는 구분되지 않지만 SQL을 바꾸는 질문 속 표현 (매체, 날짜 표현, 숫자)
+ * "구글 캠페인별 클릭수"와 "카카오 캠페인별 클릭수", "어제"와 "이번 주"처럼 이 값이 다르면 같은 SQL을 쓸 수 없다.
+ */
+final class QuestionDiscriminators {
+
+    private static final Pattern NUMBER = Pattern.compile("\\d+");
+
+    // 공백을 지운 소문자 질문에서 찾는 표현 → 정규화한 값 (긴 표현을 먼저 검사)
+    private static final Map<String, String> TERMS = new LinkedHashMap<>();
+
+    static {
+        term("media:google", "구글", "google");
+        term("media:kakao", "카카오", "kakao", "모먼트");
+        term("date:day_before", "그저께", "엊그제", "그제");
+        term("date:today", "오늘", "금일");
+        term("date:yesterday", "어제", "전일");
+        term("date:this_week", "이번주", "금주");
+        term("date:last_week", "지난주", "저번주", "전주");
+        term("date:this_month", "이번달", "금월", "이달");
+        term("date:last_month", "지난달", "저번달", "전월");
+        term("date:this_year", "올해", "금년");
+        term("date:last_year", "작년", "지난해");
+        term("date:recent", "최근");
+        term("date:weekend", "주말");
+        term("date:weekday", "평일");
+        term("date:monday", "월요일");
+        term("date:tuesday", "화요일");
+        term("date:wednesday", "수요일");
+        term("date:thursday", "목요일");
+        term("date:friday", "금요일");
+        term("date:saturday", "토요일");
+        term("date:sunday", "일요일");
+    }
+
+    private QuestionDiscriminators() {
+    }
+
+    /**
+     * 질문에 들어 있는 구분 표현 (정렬된 집합, 숫자는 "num:값")
+     */
+    static Set<String> of(String question) {
+        String compact = question.toLowerCase().replaceAll("\\s+", "");
+        Set<String> found = new TreeSet<>();
+        for (Map.Entry<String, String> term : TERMS.entrySet()) {
+            int at = compact.indexOf(term.getKey());
+            if (at < 0) continue;
+            found.add(term.getValue());
+            // 같은 글자를 다른 표현이 다시 잡지 않도록 지운다 (예: 그저께 → 그제 중복)
+            compact = compact.substring(0, at) + " " + compact.substring(at + term.getKey().length());
+        }
+        Matcher number = NUMBER.matcher(compact);
+        while (number.find()) {
+            found.add("num:" + number.group().replaceFirst("^0+(?=\\d)", ""));
+        }
+        return found;
+    }
+
+    private static void term(String value, String... expressions) {
+        for (String expression : expressions) TERMS.put(expression, value);
+    }
+}
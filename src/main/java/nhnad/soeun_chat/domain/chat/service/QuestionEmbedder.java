@@ -0,0 +1,62 @@
+package nhnad.soeun_chat.domain.chat.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeClient;
+import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelRequest;
+import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelResponse;
+
+import java.util.Map;
+
+/**
+ * 질문 문장 임베딩 (Bedrock Titan Text Embeddings V2, 정규화된 벡터)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuestionEmbedder {
+
+    @Value("${aws.bedrock.embedding.model-id:amazon.titan-embed-text-v2:0}")
+    private String modelId;
+
+    // Titan V2 지원 값: 256 / 512 / 1024
+    @Value("${aws.bedrock.embedding.dimensions:256}")
+    private int dimensions;
+
+    private final BedrockRuntimeClient bedrockRuntimeClient;
+    private final ObjectMapper objectMapper;
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * 공백만 다른 질문은 같은 벡터가 되도록 정리한 뒤 임베딩한다
+     */
+    public float[] embed(String question) throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "inputText", question.trim().replaceAll("\\s+", " "),
+                "dimensions", dimensions,
+                "normalize", true));
+
+        InvokeModelResponse response = bedrockRuntimeClient.invokeModel(InvokeModelRequest.builder()
+                .modelId(modelId)
+                .contentType("application/json")
+                .accept("application/json")
+                .body(SdkBytes.fromUtf8String(body))
+                .build());
+
+        JsonNode embedding = objectMapper.readTree(response.body().asUtf8String()).path("embedding");
+        if (!embedding.isArray() || embedding.size() != dimensions) {
+            throw new IllegalStateException("임베딩 차원 불일치: " + embedding.size());
+        }
+        float[] vector = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) vector[i] = (float) embedding.get(i).asDouble();
+        return vector;
+    }
+}
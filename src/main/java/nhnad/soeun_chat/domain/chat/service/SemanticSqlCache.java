@@ -0,0 +1,266 @@
+package nhnad.soeun_chat.domain.chat.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import nhnad.soeun_chat.global.athena.AthenaPartitionCatalog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 질문 → 검증된 SQL 의미 캐시
+ * - 질문을 임베딩해 LSH 인덱스에서 가장 비슷한 질문을 찾고, 유사도가 임계값 이상이면 그때 실행에 성공한 SQL을 재사용한다
+ * - 매체·날짜 표현·숫자(QuestionDiscriminators)가 다르면 유사도가 높아도 적중으로 보지 않는다 (SQL 조건이 달라짐)
+ * - SQL에는 기준일 기준 날짜가 들어가므로, 저장 당시 최근 적재일(dataVersion)이 지금과 같은 항목만 적중으로 본다
+ * - 항목은 로컬 파일(JSON)에 주기적으로 저장하고, 기동 시 읽어 인덱스를 다시 만든다
+ * 지표: chat.semantic_cache.lookups{result=hit|miss|mismatch|error}, chat.semantic_cache.similarity,
+ *      chat.semantic_cache.evictions{reason=capacity|stale|invalid}, chat.semantic_cache.entries
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SemanticSqlCache {
+
+    // 재기동 후에도 같은 초평면을 쓰도록 고정
+    private static final long LSH_SEED = 0x5eed_5417L;
+
+    @Value("${aws.bedrock.semantic-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${aws.bedrock.semantic-cache.similarity-threshold:0.92}")
+    private double similarityThreshold;
+
+    // 넘치면 가장 오래 쓰이지 않은 항목부터 버린다
+    @Value("${aws.bedrock.semantic-cache.max-entries:2000}")
+    private int maxEntries;
+
+    @Value("${aws.bedrock.semantic-cache.lsh-tables:8}")
+    private int lshTables;
+
+    @Value("${aws.bedrock.semantic-cache.lsh-bits:10}")
+    private int lshBits;
+
+    @Value("${aws.bedrock.semantic-cache.path:data/semantic-sql-cache.json}")
+    private String path;
+
+    private final QuestionEmbedder questionEmbedder;
+    private final AthenaPartitionCatalog athenaPartitionCatalog;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    // 파일을 읽기 전에는 null (그동안 조회/저장은 건너뜀)
+    private volatile LshIndex index;
+
+    record Entry(String question, String sql, String dataVersion, float[] vector,
+                 long createdAtMillis, long lastUsedMillis, long hits) {
+
+        Entry hit(long now) {
+            return new Entry(question, sql, dataVersion, vector, createdAtMillis, now, hits + 1);
+        }
+    }
+
+    /**
+     * 조회 결과. 적중하지 않아도 임베딩 벡터를 담아 두어 put에서 다시 임베딩하지 않는다.
+     */
+    public record Lookup(float[] vector, String dataVersion, Integer entryId, String sql, double similarity) {
+
+        static final Lookup NONE = new Lookup(null, null, null, null, 0);
+
+        public boolean isHit() {
+            return sql != null;
+        }
+
+        /**
+         * 적중한 항목이 무효가 됐을 때, 벡터는 유지해 새로 얻은 SQL을 저장할 수 있게 한다
+         */
+        public Lookup withoutHit() {
+            return new Lookup(vector, dataVersion, null, null, similarity);
+        }
+    }
+
+    public Lookup lookup(String question) {
+        LshIndex current = index;
+        if (!enabled || current == null) return Lookup.NONE;
+        String dataVersion = dataVersion();
+        if (dataVersion == null) return Lookup.NONE;
+
+        float[] vector;
+        try {
+            vector = questionEmbedder.embed(question);
+        } catch (Exception e) {
+            log.warn("질문 임베딩 실패 - 의미 캐시 건너뜀: {}", e.getMessage());
+            lookups("error").increment();
+            return Lookup.NONE;
+        }
+
+        Set<String> discriminators = QuestionDiscriminators.of(question);
+        int bestId = -1;
+        double best = 0;
+        // 구분 표현이 달라 건너뛴 후보 중 가장 높은 유사도 (임계값을 넘었다면 mismatch로 집계)
+        double bestRejected = 0;
+        for (int id : current.candidates(vector)) {
+            Entry entry = entries.get(id);
+            if (entry == null || !entry.dataVersion().equals(dataVersion)) continue;
+            double similarity = LshIndex.cosine(vector, entry.vector());
+            if (similarity <= best) continue;
+            if (!discriminators.equals(QuestionDiscriminators.of(entry.question()))) {
+                bestRejected = Math.max(bestRejected, similarity);
+                continue;
+            }
+            best = similarity;
+            bestId = id;
+        }
+        DistributionSummary.builder("chat.semantic_cache.similarity")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Math.max(best, bestRejected));
+
+        if (bestId >= 0 && best >= similarityThreshold) {
+            Entry entry = entries.computeIfPresent(bestId, (id, e) -> e.hit(System.currentTimeMillis()));
+            if (entry != null) {
+                dirty.set(true);
+                lookups("hit").increment();
+                log.info("의미 캐시 적중 - 유사도 {}, 저장된 질문: {}", String.format("%.3f", best), entry.question());
+                return new Lookup(vector, dataVersion, bestId, entry.sql(), best);
+            }
+        }
+        if (bestRejected >= similarityThreshold) {
+            log.info("의미 캐시 후보 제외 - 매체/기간/숫자 표현 불일치 (유사도 {})", String.format("%.3f", bestRejected));
+            lookups("mismatch").increment();
+        } else {
+            lookups("miss").increment();
+        }
+        return new Lookup(vector, dataVersion, null, null, best);
+    }
+
+    /**
+     * 실행에 성공한 SQL을 질문과 함께 저장한다 (lookup에서 얻은 벡터를 그대로 사용)
+     */
+    public void put(Lookup lookup, String question, String sql) {
+        LshIndex current = index;
+        if (!enabled || current == null || lookup.vector() == null) return;
+
+        synchronized (this) {
+            // 기준일이 바뀌면 이전 항목의 SQL은 날짜가 맞지 않으므로 모두 버린다
+            entries.entrySet().stream()
+                    .filter(e -> !e.getValue().dataVersion().equals(lookup.dataVersion()))
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(id -> remove(id, "stale"));
+
+            long now = System.currentTimeMillis();
+            int id = nextId.getAndIncrement();
+            entries.put(id, new Entry(question, sql, lookup.dataVersion(), lookup.vector(), now, now, 0));
+            current.add(id, lookup.vector());
+
+            while (entries.size() > maxEntries) {
+                entries.entrySet().stream()
+                        .min(Comparator.comparingLong(e -> e.getValue().lastUsedMillis()))
+                        .ifPresent(e -> remove(e.getKey(), "capacity"));
+            }
+        }
+        dirty.set(true);
+    }
+
+    /**
+     * 적중한 SQL이 실행에 실패하면 다시 쓰지 않도록 지운다
+     */
+    public void invalidate(Lookup lookup) {
+        if (lookup.entryId() == null || index == null) return;
+        synchronized (this) {
+            remove(lookup.entryId(), "invalid");
+        }
+        dirty.set(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) return;
+        LshIndex loaded = new LshIndex(questionEmbedder.dimensions(), lshTables, lshBits, LSH_SEED);
+        Path file = Path.of(path);
+        if (Files.exists(file)) {
+            try {
+                List<Entry> stored = objectMapper.readValue(file.toFile(), new TypeReference<>() {});
+                for (Entry entry : stored) {
+                    // 임베딩 차원 설정이 바뀌었으면 예전 항목은 쓸 수 없다
+                    if (entry.vector() == null || entry.vector().length != loaded.dimensions()) continue;
+                    int id = nextId.getAndIncrement();
+                    entries.put(id, entry);
+                    loaded.add(id, entry.vector());
+                }
+                log.info("의미 캐시 로드 - {}건 ({})", entries.size(), file);
+            } catch (Exception e) {
+                log.warn("의미 캐시 파일 읽기 실패, 빈 캐시로 시작: {}", e.getMessage());
+            }
+        }
+        index = loaded;
+        Gauge.builder("chat.semantic_cache.entries", entries, Map::size).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${aws.bedrock.semantic-cache.flush-interval-ms:60000}",
+            initialDelayString = "${aws.bedrock.semantic-cache.flush-interval-ms:60000}")
+    public void flush() {
+        if (!dirty.getAndSet(false)) return;
+        Path file = Path.of(path);
+        try {
+            if (file.getParent() != null) Files.createDirectories(file.getParent());
+            // 쓰는 도중 종료돼도 이전 파일이 남도록 임시 파일에 쓴 뒤 교체
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            objectMapper.writeValue(temp.toFile(), new ArrayList<>(entries.values()));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            dirty.set(true);
+            log.warn("의미 캐시 파일 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void remove(int id, String reason) {
+        Entry entry = entries.remove(id);
+        if (entry == null) return;
+        index.remove(id, entry.vector());
+        Counter.builder("chat.semantic_cache.evictions")
+                .tags("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private Counter lookups(String result) {
+        return Counter.builder("chat.semantic_cache.lookups")
+                .tags("result", result)
+                .register(meterRegistry);
+    }
+
+    private String dataVersion() {
+        return athenaPartitionCatalog.latestDate().map(LocalDate::toString).orElse(null);
+    }
+}
@@ -0,0 +1,403 @@
+package nhnad.soeun_chat.domain.chat.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Athena 제출 전 SQL 사전 점검
+ * - 파티션 테이블을 읽는 SELECT마다 year/month_p/day 조건이 있는지 확인
+ * - 파티션 테이블의 month → month_p 오타 교정 (다른 테이블·서브쿼리의 month 컬럼은 그대로 둔다)
+ * - 파티션 조건이 없으면 basic_date 범위에서 year/month_p(/day) 조건을 만들어 주입
+ * - basic_date 범위도 없으면 전체 스캔이므로 실행하지 않고 모델이 고칠 수 있는 오류 메시지를 돌려준다
+ */
+@Slf4j
+@Component
+public class SqlPreflightAnalyzer {
+
+    // 테이블명 → 파티션 키
+    private static final Map<String, List<String>> PARTITIONED_TABLES = Map.of(
+            "google_ad_performance", List.of("year", "month_p", "day"),
+            "kakao_ad_performance", List.of("year", "month_p", "day"));
+
+    private static final String DATABASE = "se_report_db";
+
+    private static final Set<String> SEGMENT_TERMINATORS = Set.of("union", "except", "intersect");
+    private static final Set<String> WHERE_TERMINATORS = Set.of("group", "order", "limit", "having", "window", "offset");
+    private static final Set<String> COMPARISON = Set.of("=", "<>", "!=", "<", ">", "<=", ">=", "in", "between", "like");
+    // FROM 절에서 테이블 별칭 자리에 올 수 없는 키워드
+    private static final Set<String> NOT_ALIAS = Set.of("where", "join", "on", "using", "left", "right", "inner", "outer",
+            "full", "cross", "natural", "group", "order", "limit", "having", "window", "offset", "union", "except",
+            "intersect", "tablesample", ",", "(", ")", ";");
+
+    private static final DateTimeFormatter BASIC_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    public record Result(String sql, String error, boolean rewritten) {
+
+        static Result accepted(String sql, boolean rewritten) {
+            return new Result(sql, null, rewritten);
+        }
+
+        static Result rejected(String error) {
+            return new Result(null, error, false);
+        }
+
+        public boolean isRejected() {
+            return error != null;
+        }
+    }
+
+    private record Token(String text, String lower, int start, int end, int depth) {}
+
+    private record Edit(int start, int end, String replacement) {}
+
+    public Result analyze(String sql) {
+        List<Token> tokens = tokenize(sql);
+        if (tokens.isEmpty()) return Result.rejected("SQL이 비어 있습니다.");
+
+        String first = tokens.get(0).lower();
+        if (!first.equals("select") && !first.equals("with") && !first.equals("(")) {
+            return Result.rejected("SELECT/WITH로 시작하는 조회 쿼리만 실행할 수 있습니다.");
+        }
+
+        List<Edit> edits = new ArrayList<>();
+        Set<Integer> monthColumns = fixMonthColumn(tokens, edits);
+
+        for (int i = 0; i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            if (!token.lower().equals("from") && !token.lower().equals("join")) continue;
+
+            String table = relationName(tokens, i + 1);
+            if (table == null || !PARTITIONED_TABLES.containsKey(table)) continue;
+
+            String error = checkSegment(tokens, i, table, monthColumns, edits);
+            if (error != null) {
+                log.info("SQL 사전 점검 거부 - {}: {}", table, error);
+                return Result.rejected(error);
+            }
+        }
+
+        if (edits.isEmpty()) return Result.accepted(sql, false);
+
+        String rewritten = apply(sql, edits);
+        log.info("SQL 사전 점검으로 재작성: {}", rewritten);
+        return Result.accepted(rewritten, true);
+    }
+
+    /**
+     * month = '02' 처럼 비교 대상으로 쓰인 month 컬럼 → month_p (MONTH() 함수 호출은 제외)
+     * 가장 가까운 SELECT 블록의 FROM이 파티션 테이블일 때만 바꾼다
+     * - g.month 처럼 한정된 경우: 별칭(또는 테이블명)이 파티션 테이블을 가리켜야 한다
+     * - 한정되지 않은 경우: FROM/JOIN의 모든 릴레이션이 파티션 테이블이어야 한다
+     *
+     * @return month_p로 바꾼 토큰 위치
+     */
+    private static Set<Integer> fixMonthColumn(List<Token> tokens, List<Edit> edits) {
+        Set<Integer> fixed = new HashSet<>();
+        for (int i = 0; i + 1 < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            if (!token.lower().equals("month") || !COMPARISON.contains(tokens.get(i + 1).lower())) continue;
+
+            int select = enclosingSelect(tokens, i);
+            if (select < 0) continue;
+            Map<String, String> relations = relations(tokens, select);
+
+            boolean partitioned;
+            if (i >= 2 && tokens.get(i - 1).lower().equals(".")) {
+                String qualifier = unquote(tokens.get(i - 2).lower());
+                partitioned = PARTITIONED_TABLES.containsKey(relations.getOrDefault(qualifier, ""));
+            } else {
+                partitioned = !relations.isEmpty() && relations.values().stream().allMatch(PARTITIONED_TABLES::containsKey);
+            }
+            if (!partitioned) continue;
+
+            edits.add(new Edit(token.start(), token.end(), "month_p"));
+            fixed.add(i);
+        }
+        return fixed;
+    }
+
+    // index 위치를 감싸는 가장 가까운 SELECT (괄호를 벗어날 때마다 바깥 깊이로 올라간다), 없으면 -1
+    private static int enclosingSelect(List<Token> tokens, int index) {
+        int depth = tokens.get(index).depth();
+        for (int j = index - 1; j >= 0; j--) {
+            Token t = tokens.get(j);
+            if (t.depth() < depth) depth = t.depth();
+            if (t.depth() == depth && t.lower().equals("select")) return j;
+        }
+        return -1;
+    }
+
+    /**
+     * SELECT 블록의 FROM/JOIN 릴레이션: 별칭과 테이블명 → 테이블명 (서브쿼리는 "")
+     */
+    private static Map<String, String> relations(List<Token> tokens, int select) {
+        int depth = tokens.get(select).depth();
+        Map<String, String> relations = new HashMap<>();
+        boolean inFrom = false;
+        for (int i = select + 1; i < tokens.size(); i++) {
+            Token t = tokens.get(i);
+            if (t.depth() < depth) break;
+            if (t.depth() != depth) continue;
+            if (SEGMENT_TERMINATORS.contains(t.lower())) break;
+
+            if (t.lower().equals("from")) inFrom = true;
+            else if (t.lower().equals("where") || WHERE_TERMINATORS.contains(t.lower())) inFrom = false;
+            if (!t.lower().equals("from") && !t.lower().equals("join") && !(inFrom && t.lower().equals(","))) continue;
+
+            int start = i + 1;
+            if (start >= tokens.size()) break;
+            String table;
+            int aliasIndex;
+            if (tokens.get(start).lower().equals("(")) {
+                table = "";
+                aliasIndex = start + 1;
+                while (aliasIndex < tokens.size() && !(tokens.get(aliasIndex).depth() == depth
+                        && tokens.get(aliasIndex).lower().equals(")"))) {
+                    aliasIndex++;
+                }
+                aliasIndex++;
+            } else {
+                String name = relationName(tokens, start);
+                table = name != null ? name : "";
+                relations.put(table.isEmpty() ? unquote(tokens.get(start).lower()) : table, table);
+                boolean qualified = start + 2 < tokens.size() && tokens.get(start + 1).lower().equals(".");
+                aliasIndex = start + (qualified ? 3 : 1);
+            }
+            if (aliasIndex < tokens.size() && tokens.get(aliasIndex).lower().equals("as")) aliasIndex++;
+            if (aliasIndex < tokens.size() && !NOT_ALIAS.contains(tokens.get(aliasIndex).lower())) {
+                relations.put(unquote(tokens.get(aliasIndex).lower()), table);
+            }
+        }
+        return relations;
+    }
+
+    private static String unquote(String identifier) {
+        return identifier.replace("\"", "");
+    }
+
+    /**
+     * FROM/JOIN 위치가 속한 SELECT 블록의 WHERE 절을 점검한다
+     *
+     * @return 거부 사유 (통과 또는 재작성 가능하면 null)
+     */
+    private String checkSegment(List<Token> tokens, int fromIndex, String table, Set<Integer> monthColumns,
+                                List<Edit> edits) {
+        int depth = tokens.get(fromIndex).depth();
+
+        int segmentStart = fromIndex;
+        while (segmentStart > 0 && !(tokens.get(segmentStart).lower().equals("select")
+                && tokens.get(segmentStart).depth() == depth)) {
+            segmentStart--;
+        }
+        int segmentEnd = fromIndex;
+        while (segmentEnd < tokens.size()) {
+            Token t = tokens.get(segmentEnd);
+            if (t.depth() < depth) break;
+            if (t.depth() == depth && SEGMENT_TERMINATORS.contains(t.lower())) break;
+            segmentEnd++;
+        }
+
+        int where = -1;
+        boolean multipleRelations = false;
+        for (int i = segmentStart; i < segmentEnd; i++) {
+            Token t = tokens.get(i);
+            if (t.depth() != depth) continue;
+            if (t.lower().equals("join") || (t.lower().equals(",") && where < 0 && i > fromIndex)) multipleRelations = true;
+            if (t.lower().equals("where") && where < 0) where = i;
+        }
+
+        int whereEnd = segmentEnd;
+        if (where >= 0) {
+            for (int i = where + 1; i < segmentEnd; i++) {
+                Token t = tokens.get(i);
+                if (t.depth() == depth && WHERE_TERMINATORS.contains(t.lower())) {
+                    whereEnd = i;
+                    break;
+                }
+            }
+            if (hasPartitionPredicate(tokens, where + 1, whereEnd, PARTITIONED_TABLES.get(table), monthColumns)) {
+                return null;
+            }
+        }
+
+        LocalDate[] range = where >= 0 ? basicDateRange(tokens, where + 1, whereEnd) : null;
+        if (range == null) {
+            return "파티션 조건이 없어 " + DATABASE + "." + table + " 전체를 스캔하게 됩니다. "
+                    + "WHERE 절에 year/month_p 조건(예: year='2026' AND month_p='02') 또는 "
+                    + "basic_date 범위(예: basic_date BETWEEN 20260201 AND 20260207)를 추가해 다시 실행하세요. "
+                    + "파티션 컬럼명은 month가 아니라 month_p입니다.";
+        }
+        if (multipleRelations) {
+            // 조인된 쿼리는 어느 테이블의 year인지 모호하므로 자동 주입하지 않는다
+            return "조인된 각 파티션 테이블에 테이블 별칭을 붙인 year/month_p 조건을 추가해 다시 실행하세요. "
+                    + "(예: g.year='2026' AND g.month_p='02')";
+        }
+
+        String predicate = partitionPredicate(range[0], range[1]);
+        Token whereToken = tokens.get(where);
+        int bodyStart = tokens.get(where + 1).start();
+        int bodyEnd = tokens.get(whereEnd - 1).end();
+        edits.add(new Edit(whereToken.end(), bodyStart, " " + predicate + " AND ("));
+        edits.add(new Edit(bodyEnd, bodyEnd, ")"));
+        return null;
+    }
+
+    private static boolean hasPartitionPredicate(List<Token> tokens, int from, int to, List<String> keys,
+                                                 Set<Integer> monthColumns) {
+        for (int i = from; i + 1 < to; i++) {
+            String column = tokens.get(i).lower();
+            // month_p로 교정된 month도 파티션 조건이다
+            if ((keys.contains(column) || monthColumns.contains(i)) && COMPARISON.contains(tokens.get(i + 1).lower())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // WHERE 절에 등장한 basic_date 비교 상수의 최소~최대 (상/하한이 모두 있어야 범위로 인정)
+    private static LocalDate[] basicDateRange(List<Token> tokens, int from, int to) {
+        LocalDate min = null;
+        LocalDate max = null;
+        boolean lower = false;
+        boolean upper = false;
+        for (int i = from; i < to; i++) {
+            if (!tokens.get(i).lower().equals("basic_date") || i + 2 >= to) continue;
+            String op = tokens.get(i + 1).lower();
+            List<LocalDate> values = new ArrayList<>();
+            if (op.equals("between") && i + 4 < to) {
+                values.add(parseBasicDate(tokens.get(i + 2).text()));
+                values.add(parseBasicDate(tokens.get(i + 4).text()));
+                lower = upper = true;
+            } else if (op.equals("=")) {
+                values.add(parseBasicDate(tokens.get(i + 2).text()));
+                lower = upper = true;
+            } else if (op.equals(">=") || op.equals(">")) {
+                values.add(parseBasicDate(tokens.get(i + 2).text()));
+                lower = true;
+            } else if (op.equals("<=") || op.equals("<")) {
+                values.add(parseBasicDate(tokens.get(i + 2).text()));
+                upper = true;
+            } else if (op.equals("in")) {
+                for (int j = i + 3; j < to && !tokens.get(j).lower().equals(")"); j += 2) {
+                    values.add(parseBasicDate(tokens.get(j).text()));
+                }
+                lower = upper = true;
+            }
+            for (LocalDate value : values) {
+                if (value == null) return null;
+                min = min == null || value.isBefore(min) ? value : min;
+                max = max == null || value.isAfter(max) ? value : max;
+            }
+        }
+        return lower && upper && min != null ? new LocalDate[]{min, max} : null;
+    }
+
+    private static LocalDate parseBasicDate(String value) {
+        try {
+            return LocalDate.parse(value, BASIC_DATE);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static String partitionPredicate(LocalDate from, LocalDate to) {
+        String fromYear = String.valueOf(from.getYear());
+        String toYear = String.valueOf(to.getYear());
+        if (!fromYear.equals(toYear)) {
+            return "year BETWEEN '" + fromYear + "' AND '" + toYear + "'";
+        }
+        String fromMonth = String.format("%02d", from.getMonthValue());
+        String toMonth = String.format("%02d", to.getMonthValue());
+        if (!fromMonth.equals(toMonth)) {
+            return "year = '" + fromYear + "' AND month_p BETWEEN '" + fromMonth + "' AND '" + toMonth + "'";
+        }
+        String predicate = "year = '" + fromYear + "' AND month_p = '" + fromMonth + "'";
+        if (from.getDayOfMonth() == to.getDayOfMonth()) {
+            predicate += " AND day = '" + String.format("%02d", from.getDayOfMonth()) + "'";
+        }
+        return predicate;
+    }
+
+    // FROM/JOIN 뒤 테이블명 (db.table이면 table 부분), 서브쿼리면 null
+    private static String relationName(List<Token> tokens, int index) {
+        if (index >= tokens.size()) return null;
+        String name = tokens.get(index).lower();
+        if (index + 2 < tokens.size() && tokens.get(index + 1).lower().equals(".")) {
+            if (!name.equals(DATABASE)) return null;
+            name = tokens.get(index + 2).lower();
+        }
+        return name.replace("\"", "");
+    }
+
+    private static String apply(String sql, List<Edit> edits) {
+        StringBuilder sb = new StringBuilder(sql);
+        edits.stream()
+                .sorted(Comparator.comparingInt(Edit::start).reversed())
+                .forEach(edit -> sb.replace(edit.start(), edit.end(), edit.replacement()));
+        return sb.toString();
+    }
+
+    private static List<Token> tokenize(String sql) {
+        List<Token> tokens = new ArrayList<>();
+        int n = sql.length();
+        int depth = 0;
+        int i = 0;
+        while (i < n) {
+            char ch = sql.charAt(i);
+            int start = i;
+            if (Character.isWhitespace(ch)) {
+                i++;
+                continue;
+            }
+            if (ch == '-' && i + 1 < n && sql.charAt(i + 1) == '-') {
+                while (i < n && sql.charAt(i) != '\n') i++;
+                continue;
+            }
+            if (ch == '/' && i + 1 < n && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? n : end + 2;
+                continue;
+            }
+
+            if (ch == '\'' || ch == '"') {
+                i++;
+                while (i < n) {
+                    if (sql.charAt(i) == ch) {
+                        if (i + 1 < n && sql.charAt(i + 1) == ch) {
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                i = Math.min(i + 1, n);
+            } else if (Character.isLetterOrDigit(ch) || ch == '_') {
+                while (i < n && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '_')) i++;
+            } else if ((ch == '<' || ch == '>' || ch == '!') && i + 1 < n
+                    && (sql.charAt(i + 1) == '=' || (ch == '<' && sql.charAt(i + 1) == '>'))) {
+                i += 2;
+            } else {
+                i++;
+            }
+
+            String text = sql.substring(start, i);
+            if (text.equals(")")) depth--;
+            String lower = text.startsWith("'") ? text : text.toLowerCase();
+            // 괄호 토큰은 바깥 깊이로 기록
+            tokens.add(new Token(text, lower, start, i, depth));
+            if (text.equals("(")) depth++;
+        }
+        return tokens;
+    }
+}
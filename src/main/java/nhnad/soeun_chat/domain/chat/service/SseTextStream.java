@@ -0,0 +1,122 @@
+package nhnad.soeun_chat.domain.chat.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 모델 응답 텍스트를 SSE message 이벤트로 내보내는 출력 단계 (모델 호출 한 번에 하나)
+ * - chartType 태그는 ChartTypeTagStripper가 들어오는 대로 걸러내고, 남은 글자는 재사용 버퍼에 쌓는다
+ * - 버퍼가 maxChars에 닿으면 바로, 아니면 버퍼에 글자가 생긴 뒤 maxDelay가 지나면 스케줄러가 내보낸다
+ */
+@Slf4j
+final class SseTextStream {
+
+    private final SseEmitter emitter;
+    private final CancellationToken cancellation;
+    private final ScheduledExecutorService scheduler;
+    private final int maxChars;
+    private final long maxDelayMillis;
+    private final ChartTypeTagStripper stripper = new ChartTypeTagStripper(this::buffer);
+
+    private char[] pending;
+    private int pendingLength;
+    private ScheduledFuture<?> scheduledFlush;
+
+    SseTextStream(SseEmitter emitter, CancellationToken cancellation, ScheduledExecutorService scheduler,
+                  int maxChars, long maxDelayMillis) {
+        this.emitter = emitter;
+        this.cancellation = cancellation;
+        this.scheduler = scheduler;
+        this.maxChars = maxChars;
+        this.maxDelayMillis = maxDelayMillis;
+        this.pending = new char[Math.max(maxChars * 2, 64)];
+    }
+
+    synchronized void append(CharSequence delta) {
+        stripper.feed(delta);
+        if (pendingLength >= maxChars) {
+            // 크기 기준: 마지막 단어/문장 경계까지만 내보내고 나머지는 다음 차례로
+            send(boundary());
+        }
+        scheduleIfPending();
+    }
+
+    /**
+     * 지금까지 쌓인 텍스트를 모두 내보낸다 (다른 이벤트를 보내기 전에 순서를 맞출 때)
+     */
+    synchronized void flush() {
+        send(pendingLength);
+        scheduleIfPending();
+    }
+
+    /**
+     * 남은 텍스트(완성되지 않은 태그 조각 포함)를 모두 내보내고 예약된 전송을 취소한다
+     */
+    synchronized void close() {
+        stripper.finish();
+        send(pendingLength);
+        cancelScheduled();
+    }
+
+    private synchronized void flushDue() {
+        scheduledFlush = null;
+        send(pendingLength);
+    }
+
+    private void buffer(char c) {
+        if (pendingLength == pending.length) {
+            char[] grown = new char[pending.length * 2];
+            System.arraycopy(pending, 0, grown, 0, pendingLength);
+            pending = grown;
+        }
+        pending[pendingLength++] = c;
+    }
+
+    // 앞에서 length 글자를 보내고 나머지는 버퍼 앞으로 당긴다
+    private void send(int length) {
+        if (length == 0) return;
+        if (!cancellation.isCancelled()) {
+            String chunk = new String(pending, 0, length).trim();
+            if (!chunk.isEmpty()) {
+                try {
+                    emitter.send(SseEmitter.event().name("message").data(chunk, MediaType.TEXT_PLAIN));
+                } catch (Exception e) {
+                    log.warn("SSE 전송 실패: {}", e.getMessage());
+                    cancellation.cancel();
+                }
+            }
+        }
+        pendingLength -= length;
+        System.arraycopy(pending, length, pending, 0, pendingLength);
+        if (pendingLength == 0) cancelScheduled();
+    }
+
+    // 마지막 경계(공백·문장부호) 바로 뒤 위치, 경계가 없으면 전부 (띄어쓰기 없는 긴 구간도 붙잡아 두지 않음)
+    private int boundary() {
+        for (int i = pendingLength - 1; i >= 0; i--) {
+            char c = pending[i];
+            if (Character.isWhitespace(c) || c == '.' || c == '!' || c == '?' || c == ',' || c == '。') {
+                return i + 1;
+            }
+        }
+        return pendingLength;
+    }
+
+    private void scheduleIfPending() {
+        if (pendingLength > 0 && scheduledFlush == null && !cancellation.isCancelled()) {
+            scheduledFlush = scheduler.schedule(this::flushDue, maxDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void cancelScheduled() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+    }
+}
@@ -1,16 +1,26 @@
 package nhnad.soeun_chat.domain.dashboard.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import nhnad.soeun_chat.domain.dashboard.dto.DashboardRangeResponse;
 import nhnad.soeun_chat.domain.dashboard.dto.DashboardSummaryResponse;
+import nhnad.soeun_chat.domain.dashboard.dto.DashboardWidgetResponse;
 import nhnad.soeun_chat.global.response.ApiResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
 
 @Tag(name = "Dashboard", description = "대시보드 — 광고 성과 요약 지표")
 @RequestMapping("/api/dashboard")
@@ -20,7 +30,8 @@ public interface DashboardApi {
             summary = "대시보드 요약 조회",
             description = """
                     대시보드 메인 화면에 필요한 **광고 성과 요약 지표**를 반환합니다.
-                    응답 데이터는 캐시되어 있으며, 최신 데이터가 필요한 경우 `DELETE /api/dashboard/cache` 를 먼저 호출하세요.
+                    응답은 서버가 백그라운드에서 주기적으로 갱신하는 스냅샷이며, 요청 시 Athena 조회를 기다리지 않습니다.
+                    서버 기동 직후 스냅샷이 아직 없으면 모든 위젯이 빈 값이고 `unavailableWidgets`에 전체 위젯이 담깁니다.
 
                     **응답 구조:**
                     | 필드 | 설명 |
@@ -29,6 +40,7 @@ public interface DashboardApi {
                     | `mediaShare` | 매체별 광고비 비중 (카카오/구글) |
                     | `dailyConversions` | 일별 전환수·클릭수 (최근 7일) |
                     | `performanceMetrics` | 핵심 성과 지표 — CPC·CTR·ROAS |
+                    | `unavailableWidgets` | 시간 초과/오류로 빈 값이 채워진 위젯 필드명 |
 
                     **변화율(`changeRate`) 계산:**
                     - `todayChangeRate`: (오늘 - 어제) / 어제 × 100 (%)
@@ -66,7 +78,8 @@ public interface DashboardApi {
                                           "cpc": 1724,
                                           "ctr": 3.25,
                                           "roas": 410.5
-                                        }
+                                        },
+                                        "unavailableWidgets": []
                                       }
                                     }
                                     """)
@@ -84,12 +97,168 @@ public interface DashboardApi {
     @GetMapping("/summary")
     ApiResponse<DashboardSummaryResponse> getSummary();
 
+    @Operation(
+            summary = "대시보드 위젯 스트리밍 (SSE)",
+            description = """
+                    대시보드 위젯을 **준비되는 순서대로** SSE 이벤트로 전송합니다. 이벤트 이름이 위젯 키입니다.
+                    캐시된 위젯은 즉시, 캐시가 없는 위젯은 해당 위젯의 쿼리만 실행한 뒤 도착합니다.
+
+                    **이벤트 이름:**
+                    | event | 설명 |
+                    |---|---|
+                    | `adCost` | 광고비 현황 |
+                    | `mediaShare` | 매체별 광고비 비중 |
+                    | `dailyConversions` | 일별 전환수·클릭수 |
+                    | `performanceMetrics` | CPC·CTR·ROAS |
+                    | `done` | 모든 위젯 전송 완료 — `[DONE]` |
+
+                    각 위젯 이벤트의 `data`는 `GET /api/dashboard/widgets/{widget}` 의 `data`와 같은 형식입니다.
+                    `available`이 false면 시간 초과/오류로 해당 위젯을 만들지 못한 것입니다.
+                    """
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "스트리밍 시작 성공",
+                    content = @Content(
+                            mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            examples = @ExampleObject(value = """
+                                    event: adCost
+                                    data: {"widget":"adCost","available":true,"builtAt":1709251200000,"data":{"today":450000,"yesterday":380000,"thisWeek":2100000,"todayChangeRate":18.42,"thisWeekChangeRate":-5.30}}
+
+                                    event: mediaShare
+                                    data: {"widget":"mediaShare","available":true,"builtAt":1709251200000,"data":[{"name":"kakao","value":1200000}]}
+
+                                    event: done
+                                    data: [DONE]
+                                    """)
+                    )
+            )
+    })
+    @GetMapping(value = "/summary/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter streamSummary();
+
+    @Operation(
+            summary = "대시보드 위젯 단건 조회",
+            description = """
+                    위젯 하나만 조회합니다. 위젯별 캐시와 요약 스냅샷 중 더 최근 값을 반환하고, 둘 다 없으면 해당 위젯의 쿼리만 실행합니다.
+                    `refresh=true`면 캐시를 무시하고 이 위젯만 다시 계산합니다.
+                    """
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "조회 성공",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = DashboardWidgetResponse.class),
+                            examples = @ExampleObject(value = """
+                                    {
+                                      "success": true,
+                                      "data": {
+                                        "widget": "performanceMetrics",
+                                        "available": true,
+                                        "builtAt": 1709251200000,
+                                        "data": { "cpc": 1724, "ctr": 3.25, "roas": 410.5 }
+                                      }
+                                    }
+                                    """)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "알 수 없는 위젯 키",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(value = "{\"success\":false,\"code\":\"INVALID_INPUT\",\"message\":\"잘못된 입력입니다.\"}")
+                    )
+            )
+    })
+    @GetMapping("/widgets/{widget}")
+    ApiResponse<DashboardWidgetResponse> getWidget(
+            @Parameter(description = "위젯 키 — adCost / mediaShare / dailyConversions / performanceMetrics", example = "adCost")
+            @PathVariable String widget,
+            @Parameter(description = "true면 캐시를 무시하고 다시 계산", example = "false")
+            @RequestParam(defaultValue = "false") boolean refresh
+    );
+
+    @Operation(
+            summary = "기간·광고주별 대시보드 조회",
+            description = """
+                    지정한 기간(`from`~`to`, 양 끝 포함)과 광고주(`advId`, 생략 시 전체)의 광고 성과를 반환합니다.
+                    서버가 주기적으로 적재하는 (날짜, 매체, 광고주)별 일일 집계로 계산하므로 요청 시 Athena를 조회하지 않습니다.
+
+                    - 변화율은 조회 기간 바로 앞의 같은 길이 기간과 비교합니다.
+                    - 적재된 기간(`dataRange`) 밖의 날짜는 0으로 집계됩니다.
+                    - 최대 조회 기간은 366일입니다.
+                    - 서버 기동 직후 집계가 아직 없으면 503 `DASHBOARD_NOT_READY`를 반환합니다.
+                    """
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "조회 성공",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = DashboardRangeResponse.class),
+                            examples = @ExampleObject(value = """
+                                    {
+                                      "success": true,
+                                      "data": {
+                                        "from": "2026-02-01",
+                                        "to": "2026-02-07",
+                                        "advId": null,
+                                        "dataRange": { "from": "2025-01-01", "to": "2026-02-07" },
+                                        "totals": { "cost": 2100000, "clicks": 8400, "impressions": 258000, "conversions": 280, "conversionValue": 8620000 },
+                                        "previousTotals": { "cost": 2217000, "clicks": 8230, "impressions": 251000, "conversions": 250, "conversionValue": 7900000 },
+                                        "changeRates": { "cost": -5.3, "clicks": 2.1, "conversions": 12.0 },
+                                        "mediaShare": [
+                                          { "name": "카카오", "value": 1200000 },
+                                          { "name": "구글", "value": 900000 }
+                                        ],
+                                        "daily": [
+                                          { "date": "2026-02-01", "cost": 300000, "conversions": 42, "clicks": 1230 }
+                                        ],
+                                        "performanceMetrics": { "cpc": 250, "ctr": 3.3, "roas": 410.5 }
+                                      }
+                                    }
+                                    """)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "잘못된 기간 — from이 to보다 늦거나 366일 초과",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(value = "{\"success\":false,\"code\":\"INVALID_INPUT\",\"message\":\"잘못된 입력입니다.\"}")
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "503",
+                    description = "일일 집계 준비 중",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(value = "{\"success\":false,\"code\":\"DASHBOARD_NOT_READY\",\"message\":\"대시보드 집계를 준비 중입니다. 잠시 후 다시 시도해주세요.\"}")
+                    )
+            )
+    })
+    @GetMapping("/range")
+    ApiResponse<DashboardRangeResponse> getRange(
+            @Parameter(description = "조회 시작일 (yyyy-MM-dd)", example = "2026-02-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "조회 종료일 (yyyy-MM-dd, 포함)", example = "2026-02-07")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "광고주 ID — 생략하면 전체 광고주", example = "1234567890")
+            @RequestParam(required = false) String advId
+    );
+
     @Operation(
             summary = "대시보드 캐시 초기화 (개발/테스트용)",
             description = """
-                    서버에 캐시된 대시보드 데이터를 삭제합니다.
+                    대시보드 스냅샷의 즉시 재생성을 요청합니다. 재생성이 끝날 때까지는 기존 스냅샷이 그대로 응답됩니다.
+                    저장된 일별 부분 집계도 버리고 이번 달 전체를 다시 집계합니다 (과거 데이터 재적재 후 사용).
 
-                    > ⚠️ 개발·테스트 환경 전용입니다. 캐시 초기화 후 `GET /api/dashboard/summary` 를 호출하면 최신 데이터를 새로 조회합니다.
+                    > ⚠️ 개발·테스트 환경 전용입니다. 재생성은 백그라운드에서 진행되므로 잠시 후 `GET /api/dashboard/summary` 를 호출하세요.
                     """
     )
     @ApiResponses({
@@ -98,7 +267,7 @@ public interface DashboardApi {
                     description = "캐시 초기화 성공",
                     content = @Content(
                             mediaType = "application/json",
-                            examples = @ExampleObject(value = "{\"success\":true,\"data\":\"캐시 초기화 완료\"}")
+                            examples = @ExampleObject(value = "{\"success\":true,\"data\":\"캐시 재생성 요청 완료\"}")
                     )
             ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -1,28 +1,54 @@
 package nhnad.soeun_chat.domain.dashboard.controller;
 
 import lombok.RequiredArgsConstructor;
+import nhnad.soeun_chat.domain.dashboard.dto.DashboardRangeResponse;
 import nhnad.soeun_chat.domain.dashboard.dto.DashboardSummaryResponse;
+import nhnad.soeun_chat.domain.dashboard.dto.DashboardWidget;
+import nhnad.soeun_chat.domain.dashboard.dto.DashboardWidgetResponse;
 import nhnad.soeun_chat.domain.dashboard.service.DashboardService;
+import nhnad.soeun_chat.domain.dashboard.service.DashboardStreamService;
+import nhnad.soeun_chat.domain.dashboard.service.DashboardSummaryCache;
+import nhnad.soeun_chat.domain.dashboard.service.DashboardWidgetCache;
 import nhnad.soeun_chat.global.response.ApiResponse;
-import org.springframework.cache.CacheManager;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
 
 @RestController
 @RequiredArgsConstructor
 public class DashboardController implements DashboardApi {
 
     private final DashboardService dashboardService;
-    private final CacheManager cacheManager;
+    private final DashboardSummaryCache dashboardSummaryCache;
+    private final DashboardWidgetCache dashboardWidgetCache;
+    private final DashboardStreamService dashboardStreamService;
 
     @Override
     public ApiResponse<DashboardSummaryResponse> getSummary() {
-        return ApiResponse.of(dashboardService.getSummary());
+        return ApiResponse.of(dashboardSummaryCache.getSummary());
+    }
+
+    @Override
+    public SseEmitter streamSummary() {
+        SseEmitter emitter = new SseEmitter(60_000L);
+        dashboardStreamService.stream(emitter);
+        return emitter;
+    }
+
+    @Override
+    public ApiResponse<DashboardWidgetResponse> getWidget(String widget, boolean refresh) {
+        return ApiResponse.of(dashboardWidgetCache.get(DashboardWidget.fromKey(widget), refresh).join());
+    }
+
+    @Override
+    public ApiResponse<DashboardRangeResponse> getRange(LocalDate from, LocalDate to, String advId) {
+        return ApiResponse.of(dashboardService.getRange(from, to, advId));
     }
 
     @Override
     public ApiResponse<String> clearCache() {
-        var cache = cacheManager.getCache("dashboard");
-        if (cache != null) cache.clear();
-        return ApiResponse.of("캐시 초기화 완료");
+        dashboardSummaryCache.invalidate();
+        return ApiResponse.of("캐시 재생성 요청 완료");
     }
 }
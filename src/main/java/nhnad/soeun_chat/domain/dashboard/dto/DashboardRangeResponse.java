@@ -0,0 +1,92 @@
+package nhnad.soeun_chat.domain.dashboard.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "기간·광고주별 대시보드 응답")
+public record DashboardRangeResponse(
+        @Schema(description = "조회 시작일 (yyyy-MM-dd)", example = "2026-02-01")
+        String from,
+
+        @Schema(description = "조회 종료일 (yyyy-MM-dd, 포함)", example = "2026-02-07")
+        String to,
+
+        @Schema(description = "광고주 ID (전체 조회면 null)", example = "1234567890")
+        String advId,
+
+        @Schema(description = "적재된 데이터 기간 — 이 범위 밖의 날짜는 0으로 집계됨")
+        DataRange dataRange,
+
+        @Schema(description = "조회 기간 합계")
+        Totals totals,
+
+        @Schema(description = "직전 같은 길이 기간의 합계 (예: 2/1~2/7 조회 시 1/25~1/31)")
+        Totals previousTotals,
+
+        @Schema(description = "직전 기간 대비 변화율")
+        ChangeRates changeRates,
+
+        @Schema(description = "매체별 광고비 비중")
+        List<DashboardSummaryResponse.MediaShare> mediaShare,
+
+        @Schema(description = "일별 광고비·전환수·클릭수 (날짜 오름차순)")
+        List<Daily> daily,
+
+        @Schema(description = "조회 기간의 핵심 성과 지표 (KPI)")
+        DashboardSummaryResponse.PerformanceMetrics performanceMetrics
+) {
+    @Schema(description = "적재된 데이터 기간")
+    public record DataRange(
+            @Schema(description = "가장 이른 적재일", example = "2025-01-01")
+            String from,
+
+            @Schema(description = "가장 최근 적재일", example = "2026-02-07")
+            String to
+    ) {}
+
+    @Schema(description = "기간 합계")
+    public record Totals(
+            @Schema(description = "광고비 (원)", example = "2100000")
+            long cost,
+
+            @Schema(description = "클릭수", example = "8400")
+            long clicks,
+
+            @Schema(description = "노출수", example = "258000")
+            long impressions,
+
+            @Schema(description = "전환수", example = "280")
+            long conversions,
+
+            @Schema(description = "전환가치 (원, 구글만 집계)", example = "8620000")
+            long conversionValue
+    ) {}
+
+    @Schema(description = "직전 기간 대비 변화율 (%). 양수=증가, 음수=감소, 직전 값이 0이면 0")
+    public record ChangeRates(
+            @Schema(description = "광고비 변화율 (%)", example = "-5.3")
+            double cost,
+
+            @Schema(description = "클릭수 변화율 (%)", example = "2.1")
+            double clicks,
+
+            @Schema(description = "전환수 변화율 (%)", example = "12.0")
+            double conversions
+    ) {}
+
+    @Schema(description = "일별 데이터")
+    public record Daily(
+            @Schema(description = "날짜 (yyyy-MM-dd)", example = "2026-02-01")
+            String date,
+
+            @Schema(description = "광고비 (원)", example = "300000")
+            long cost,
+
+            @Schema(description = "전환수", example = "42")
+            long conversions,
+
+            @Schema(description = "클릭수", example = "1230")
+            long clicks
+    ) {}
+}
@@ -16,7 +16,11 @@ public record DashboardSummaryResponse(
         List<DailyConversions> dailyConversions,
 
         @Schema(description = "핵심 성과 지표 (KPI)")
-        PerformanceMetrics performanceMetrics
+        PerformanceMetrics performanceMetrics,
+
+        @Schema(description = "시간 초과/오류로 빈 값이 채워진 위젯 필드명 (정상이면 빈 배열)",
+                example = "[\"dailyConversions\"]")
+        List<String> unavailableWidgets
 ) {
     @Schema(description = "광고비 현황")
     public record AdCost(
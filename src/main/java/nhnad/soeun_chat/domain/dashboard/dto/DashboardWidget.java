@@ -0,0 +1,42 @@
+package nhnad.soeun_chat.domain.dashboard.dto;
+
+import nhnad.soeun_chat.global.error.ErrorCode;
+import nhnad.soeun_chat.global.exception.InvalidValueException;
+
+import java.util.function.Function;
+
+/**
+ * 대시보드 위젯 (key는 DashboardSummaryResponse 필드명과 같다)
+ */
+public enum DashboardWidget {
+    AD_COST("adCost", DashboardSummaryResponse::adCost),
+    MEDIA_SHARE("mediaShare", DashboardSummaryResponse::mediaShare),
+    DAILY_CONVERSIONS("dailyConversions", DashboardSummaryResponse::dailyConversions),
+    PERFORMANCE_METRICS("performanceMetrics", DashboardSummaryResponse::performanceMetrics);
+
+    private final String key;
+    private final Function<DashboardSummaryResponse, Object> extractor;
+
+    DashboardWidget(String key, Function<DashboardSummaryResponse, Object> extractor) {
+        this.key = key;
+        this.extractor = extractor;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    /**
+     * 요약 응답에서 이 위젯 부분만 꺼낸다 (빈 값으로 대체된 위젯이면 null)
+     */
+    public Object extract(DashboardSummaryResponse summary) {
+        return summary.unavailableWidgets().contains(key) ? null : extractor.apply(summary);
+    }
+
+    public static DashboardWidget fromKey(String key) {
+        for (DashboardWidget widget : values()) {
+            if (widget.key.equals(key)) return widget;
+        }
+        throw new InvalidValueException(ErrorCode.INVALID_INPUT);
+    }
+}
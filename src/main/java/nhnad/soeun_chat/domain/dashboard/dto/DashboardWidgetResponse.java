@@ -0,0 +1,19 @@
+package nhnad.soeun_chat.domain.dashboard.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "대시보드 위젯 1개 응답 (위젯별 조회 / 스트리밍 이벤트 공용)")
+public record DashboardWidgetResponse(
+        @Schema(description = "위젯 키 (DashboardSummaryResponse 필드명)", example = "adCost",
+                allowableValues = {"adCost", "mediaShare", "dailyConversions", "performanceMetrics"})
+        String widget,
+
+        @Schema(description = "조회 성공 여부. false면 시간 초과/오류로 data가 null", example = "true")
+        boolean available,
+
+        @Schema(description = "데이터 생성 시각 (epoch millis)", example = "1770422400000")
+        long builtAt,
+
+        @Schema(description = "위젯 데이터 — 형태는 DashboardSummaryResponse의 같은 이름 필드와 동일")
+        Object data
+) {}
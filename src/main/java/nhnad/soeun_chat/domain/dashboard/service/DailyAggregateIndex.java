@@ -0,0 +1,157 @@
+package nhnad.soeun_chat.domain.dashboard.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * (날짜, 매체, 광고주)별 일일 집계의 누적합 인덱스 (불변)
+ * - 계열(series) = (매체, 광고주) 조합, 광고주 전체 합계는 ALL_ADVERTISERS 계열로 따로 둔다
+ * - 지표마다 [계열][첫날부터의 일수 + 1] 크기의 누적합 배열을 두어 임의 기간의 합을 배열 두 칸의 차로 구한다
+ */
+final class DailyAggregateIndex {
+
+    static final String ALL_ADVERTISERS = "";
+
+    /**
+     * @param advId 광고주 ID (ALL_ADVERTISERS와 겹치지 않도록 빈 값은 "-"로 적재)
+     */
+    record Row(LocalDate date, String media, String advId, DashboardPartialStore.DailyPartial values) {}
+
+    record Totals(double cost, long clicks, long impressions, long conversions, double conversionValue) {
+
+        Totals plus(Totals other) {
+            return new Totals(cost + other.cost, clicks + other.clicks, impressions + other.impressions,
+                    conversions + other.conversions, conversionValue + other.conversionValue);
+        }
+    }
+
+    static final Totals ZERO = new Totals(0, 0, 0, 0, 0);
+
+    private final LocalDate firstDate;
+    private final int dayCount;
+    private final String[] seriesMedia;
+    // 광고주 → 매체별 계열 번호
+    private final Map<String, int[]> seriesByAdvertiser;
+
+    private final double[][] cost;
+    private final long[][] clicks;
+    private final long[][] impressions;
+    private final long[][] conversions;
+    private final double[][] conversionValue;
+
+    private DailyAggregateIndex(LocalDate firstDate, int dayCount, String[] seriesMedia,
+                                Map<String, int[]> seriesByAdvertiser) {
+        this.firstDate = firstDate;
+        this.dayCount = dayCount;
+        this.seriesMedia = seriesMedia;
+        this.seriesByAdvertiser = seriesByAdvertiser;
+        int series = seriesMedia.length;
+        this.cost = new double[series][dayCount + 1];
+        this.clicks = new long[series][dayCount + 1];
+        this.impressions = new long[series][dayCount + 1];
+        this.conversions = new long[series][dayCount + 1];
+        this.conversionValue = new double[series][dayCount + 1];
+    }
+
+    /**
+     * 광고주별 행으로 인덱스를 만든다. 광고주 전체 계열은 같은 날짜·매체 행을 더해 채운다.
+     */
+    static DailyAggregateIndex build(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return new DailyAggregateIndex(LocalDate.now(), 0, new String[0], Map.of());
+        }
+        LocalDate first = rows.get(0).date();
+        LocalDate last = first;
+        Map<String, Integer> seriesIds = new LinkedHashMap<>();
+        Map<String, List<Integer>> byAdvertiser = new HashMap<>();
+        List<String> media = new ArrayList<>();
+        for (Row row : rows) {
+            if (row.date().isBefore(first)) first = row.date();
+            if (row.date().isAfter(last)) last = row.date();
+            for (String advId : List.of(row.advId(), ALL_ADVERTISERS)) {
+                seriesIds.computeIfAbsent(row.media() + '|' + advId, key -> {
+                    media.add(row.media());
+                    byAdvertiser.computeIfAbsent(advId, a -> new ArrayList<>()).add(media.size() - 1);
+                    return media.size() - 1;
+                });
+            }
+        }
+
+        Map<String, int[]> seriesByAdvertiser = new HashMap<>();
+        byAdvertiser.forEach((advId, ids) -> seriesByAdvertiser.put(advId, ids.stream().mapToInt(Integer::intValue).toArray()));
+        DailyAggregateIndex index = new DailyAggregateIndex(first, (int) ChronoUnit.DAYS.between(first, last) + 1,
+                media.toArray(String[]::new), seriesByAdvertiser);
+
+        // 일별 값을 d+1 칸에 더한 뒤 앞에서부터 누적
+        for (Row row : rows) {
+            int d = index.offset(row.date()) + 1;
+            for (String advId : List.of(row.advId(), ALL_ADVERTISERS)) {
+                int s = seriesIds.get(row.media() + '|' + advId);
+                DashboardPartialStore.DailyPartial v = row.values();
+                index.cost[s][d]            += v.cost();
+                index.clicks[s][d]          += v.clicks();
+                index.impressions[s][d]     += v.impressions();
+                index.conversions[s][d]     += v.conversions();
+                index.conversionValue[s][d] += v.conversionValue();
+            }
+        }
+        for (int s = 0; s < media.size(); s++) {
+            for (int d = 1; d <= index.dayCount; d++) {
+                index.cost[s][d]            += index.cost[s][d - 1];
+                index.clicks[s][d]          += index.clicks[s][d - 1];
+                index.impressions[s][d]     += index.impressions[s][d - 1];
+                index.conversions[s][d]     += index.conversions[s][d - 1];
+                index.conversionValue[s][d] += index.conversionValue[s][d - 1];
+            }
+        }
+        return index;
+    }
+
+    boolean isEmpty() {
+        return dayCount == 0;
+    }
+
+    LocalDate firstDate() {
+        return firstDate;
+    }
+
+    LocalDate lastDate() {
+        return firstDate.plusDays(dayCount - 1L);
+    }
+
+    /**
+     * @return 광고주(ALL_ADVERTISERS면 전체)의 매체별 계열 번호, 데이터가 없으면 빈 배열
+     */
+    int[] series(String advId) {
+        return seriesByAdvertiser.getOrDefault(advId, new int[0]);
+    }
+
+    String media(int series) {
+        return seriesMedia[series];
+    }
+
+    /**
+     * from~to(양 끝 포함) 합계, 인덱스 범위를 벗어난 날짜는 0으로 본다
+     */
+    Totals sum(int series, LocalDate from, LocalDate to) {
+        int start = Math.max(offset(from), 0);
+        int end = Math.min(offset(to), dayCount - 1);
+        if (start > end) return ZERO;
+        return new Totals(
+                cost[series][end + 1] - cost[series][start],
+                clicks[series][end + 1] - clicks[series][start],
+                impressions[series][end + 1] - impressions[series][start],
+                conversions[series][end + 1] - conversions[series][start],
+                conversionValue[series][end + 1] - conversionValue[series][start]);
+    }
+
+    private int offset(LocalDate date) {
+        long days = ChronoUnit.DAYS.between(firstDate, date);
+        return (int) Math.max(Math.min(days, Integer.MAX_VALUE), Integer.MIN_VALUE);
+    }
+}
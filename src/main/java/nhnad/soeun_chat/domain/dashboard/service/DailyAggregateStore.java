@@ -0,0 +1,287 @@
+package nhnad.soeun_chat.domain.dashboard.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import nhnad.soeun_chat.global.athena.AthenaPartitionCatalog;
+import nhnad.soeun_chat.global.athena.AthenaQueryEngine;
+import nhnad.soeun_chat.global.athena.AthenaResult;
+import nhnad.soeun_chat.global.athena.AthenaWorkload;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 기간·광고주별 대시보드용 일일 집계 저장소
+ * - Athena에서 (날짜, 매체, 광고주)별 일일 합계를 월 단위로 집계해 메모리 인덱스(DailyAggregateIndex)로 들고 있는다
+ * - 집계 행은 Redis hash(dashboard:daily:yyyyMM)에도 저장해, 재기동 시 Redis에 없는 달만 Athena로 다시 집계한다
+ * - 주기적으로 마지막 적재일 이후와 최근 settle-days일만 다시 집계한다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DailyAggregateStore {
+
+    private static final String KEY_PREFIX = "dashboard:daily:";
+    private static final String LOADED_KEY = "dashboard:daily:loaded";
+    private static final char SEPARATOR = '|';
+
+    // 늦게 적재되는 데이터가 있을 수 있어 최근 며칠은 매번 다시 집계
+    @Value("${dashboard.partials.settle-days:2}")
+    private int settleDays;
+
+    @Value("${dashboard.daily.ttl-days:400}")
+    private long ttlDays;
+
+    private final AthenaQueryEngine athenaQueryEngine;
+    private final AthenaPartitionCatalog athenaPartitionCatalog;
+    private final StringRedisTemplate redisTemplate;
+
+    // 날짜 → 그날의 집계 행 (loadExecutor 스레드에서만 변경)
+    private final NavigableMap<LocalDate, List<DailyAggregateIndex.Row>> rows = new TreeMap<>();
+    private volatile DailyAggregateIndex index;
+    private LocalDate loadedThrough;
+    // Redis에 없어 Athena로 집계해야 하는 달 (실패하면 다음 주기에 다시 시도)
+    private final List<YearMonth> unloaded = new ArrayList<>();
+
+    private final AtomicBoolean loading = new AtomicBoolean();
+    private final ExecutorService loadExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "dashboard-daily");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 아직 한 번도 적재하지 못했으면 empty
+     */
+    Optional<DailyAggregateIndex> index() {
+        return Optional.ofNullable(index);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.daily.refresh-interval-ms:600000}",
+            initialDelayString = "${dashboard.daily.refresh-interval-ms:600000}")
+    public void refresh() {
+        if (!loading.compareAndSet(false, true)) return;
+        loadExecutor.execute(() -> {
+            try {
+                load();
+            } catch (Exception e) {
+                log.error("[Dashboard] 일일 집계 적재 실패: {}", e.getMessage(), e);
+            } finally {
+                loading.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loadExecutor.shutdownNow();
+    }
+
+    private void load() {
+        AthenaPartitionCatalog.DataRange range = athenaPartitionCatalog.dataRange().orElse(null);
+        if (range == null) {
+            log.warn("[Dashboard] 파티션 목록이 없어 일일 집계 적재를 건너뜀");
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+
+        // 첫 적재: Redis에 저장된 달은 그대로 쓰고, 없는 달만 Athena로 집계
+        if (index == null) {
+            for (YearMonth month = YearMonth.from(range.earliest()); !month.isAfter(YearMonth.from(range.latest())); month = month.plusMonths(1)) {
+                Map<LocalDate, List<DailyAggregateIndex.Row>> stored = read(month);
+                if (stored.isEmpty()) unloaded.add(month);
+                rows.putAll(stored);
+            }
+            loadedThrough = readLoadedThrough();
+        }
+        List<YearMonth> aggregated = new ArrayList<>();
+        if (!unloaded.isEmpty()) {
+            log.info("[Dashboard] Redis에 없는 달 집계: {}", unloaded);
+            List<YearMonth> failed = aggregate(range.earliest(), range.latest(), unloaded);
+            unloaded.stream().filter(month -> !failed.contains(month)).forEach(aggregated::add);
+            unloaded.retainAll(failed);
+        }
+
+        LocalDate from = loadedThrough != null ? loadedThrough.plusDays(1) : range.earliest();
+        LocalDate settling = range.latest().minusDays(Math.max(settleDays, 1) - 1L);
+        if (settling.isBefore(from)) from = settling;
+        if (from.isBefore(range.earliest())) from = range.earliest();
+
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(range.latest())); month = month.plusMonths(1)) {
+            // 방금 전체를 집계한 달은 다시 조회하지 않는다
+            if (!aggregated.contains(month)) months.add(month);
+        }
+        boolean complete = aggregate(from, range.latest(), months).isEmpty();
+
+        // 실패한 달은 기존 값으로 인덱스를 만들고, 적재일은 올리지 않아 다음 주기에 다시 집계
+        if (complete) {
+            loadedThrough = range.latest();
+            writeLoadedThrough(loadedThrough);
+        }
+        index = DailyAggregateIndex.build(rows.values().stream().flatMap(List::stream).toList());
+        log.info("[Dashboard] 일일 집계 적재 완료 - {} ~ {}, {}일, 재집계 {} ~ ({}ms)",
+                index.firstDate(), index.lastDate(), rows.size(), from, System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * months 각각의 from~to 구간을 달마다 쿼리 하나로 다시 집계해 메모리와 Redis의 해당 날짜를 교체한다
+     *
+     * @return 집계에 실패한 달 (기존 값 유지)
+     */
+    private List<YearMonth> aggregate(LocalDate from, LocalDate to, List<YearMonth> months) {
+        Map<YearMonth, CompletableFuture<AthenaResult>> queries = new LinkedHashMap<>();
+        for (YearMonth month : months) {
+            LocalDate monthFrom = month.atDay(1).isBefore(from) ? from : month.atDay(1);
+            LocalDate monthTo = month.atEndOfMonth().isAfter(to) ? to : month.atEndOfMonth();
+            queries.put(month, athenaQueryEngine.execute(rollupSql(monthFrom, monthTo), AthenaWorkload.dashboard()));
+        }
+
+        List<YearMonth> failed = new ArrayList<>();
+        for (Map.Entry<YearMonth, CompletableFuture<AthenaResult>> query : queries.entrySet()) {
+            YearMonth month = query.getKey();
+            try {
+                Map<LocalDate, List<DailyAggregateIndex.Row>> refreshed = toRows(query.getValue().join());
+                LocalDate monthFrom = month.atDay(1).isBefore(from) ? from : month.atDay(1);
+                LocalDate monthTo = month.atEndOfMonth().isAfter(to) ? to : month.atEndOfMonth();
+                rows.subMap(monthFrom, true, monthTo, true).clear();
+                rows.putAll(refreshed);
+                write(month);
+            } catch (Exception e) {
+                log.error("[Dashboard] 일일 집계 쿼리 실패 - {}: {}", month, e.getMessage());
+                failed.add(month);
+            }
+        }
+        return failed;
+    }
+
+    private static String rollupSql(LocalDate from, LocalDate to) {
+        // 같은 달 안의 구간만 받는다 (파티션 조건이 year/month_p 하나)
+        String partition = "year='" + from.getYear() + "' AND month_p='" + String.format("%02d", from.getMonthValue()) + "' " +
+                           "AND day >= '" + String.format("%02d", from.getDayOfMonth()) + "' " +
+                           "AND day <= '" + String.format("%02d", to.getDayOfMonth()) + "' ";
+
+        return
+            "SELECT basic_date, media, adv_id, SUM(cost) AS cost, SUM(clicks) AS clicks, SUM(impressions) AS impressions, " +
+            "       SUM(conv) AS conv, SUM(conv_value) AS conv_value " +
+            "FROM ( " +
+            "  SELECT '구글' AS media, basic_date, " +
+            "    COALESCE(NULLIF(CAST(adv_id AS VARCHAR), ''), '-') AS adv_id, " +
+            "    CAST(cost_micros AS DOUBLE)        AS cost, " +
+            "    CAST(clicks AS BIGINT)             AS clicks, " +
+            "    CAST(impressions AS BIGINT)        AS impressions, " +
+            "    CAST(conversions AS BIGINT)        AS conv, " +
+            "    CAST(conversions_value AS DOUBLE)  AS conv_value " +
+            "  FROM se_report_db.google_ad_performance " +
+            "  WHERE " + partition +
+            "  UNION ALL " +
+            "  SELECT '카카오' AS media, basic_date, " +
+            "    COALESCE(NULLIF(CAST(adv_id AS VARCHAR), ''), '-') AS adv_id, " +
+            "    CAST(spending AS DOUBLE)           AS cost, " +
+            "    CAST(click AS BIGINT)              AS clicks, " +
+            "    CAST(imp AS BIGINT)                AS impressions, " +
+            "    CAST(conv_purchase_1d AS BIGINT)   AS conv, " +
+            "    0.0                                AS conv_value " +  // 카카오 전환가치 컬럼 없음
+            "  FROM se_report_db.kakao_ad_performance " +
+            "  WHERE " + partition +
+            ") " +
+            "GROUP BY basic_date, media, adv_id";
+    }
+
+    private static Map<LocalDate, List<DailyAggregateIndex.Row>> toRows(AthenaResult result) {
+        Map<LocalDate, List<DailyAggregateIndex.Row>> refreshed = new HashMap<>();
+        for (int r = 0; r < result.rowCount(); r++) {
+            String raw = result.getString(r, 0);
+            LocalDate date = LocalDate.of(Integer.parseInt(raw.substring(0, 4)),
+                    Integer.parseInt(raw.substring(4, 6)), Integer.parseInt(raw.substring(6, 8)));
+            refreshed.computeIfAbsent(date, d -> new ArrayList<>()).add(new DailyAggregateIndex.Row(
+                    date, result.getString(r, 1), result.getString(r, 2),
+                    new DashboardPartialStore.DailyPartial(result.getDouble(r, 3), result.getLong(r, 4),
+                            result.getLong(r, 5), result.getLong(r, 6), result.getDouble(r, 7))));
+        }
+        return refreshed;
+    }
+
+    // ── Redis 저장: field = yyyy-MM-dd|매체|광고주 ─────────────────────────
+    private Map<LocalDate, List<DailyAggregateIndex.Row>> read(YearMonth month) {
+        Map<LocalDate, List<DailyAggregateIndex.Row>> stored = new HashMap<>();
+        try {
+            for (Map.Entry<Object, Object> entry : redisTemplate.opsForHash().entries(key(month)).entrySet()) {
+                String field = (String) entry.getKey();
+                int sep = field.indexOf(SEPARATOR, 11);
+                LocalDate date = LocalDate.parse(field.substring(0, 10));
+                stored.computeIfAbsent(date, d -> new ArrayList<>()).add(new DailyAggregateIndex.Row(
+                        date, field.substring(11, sep), field.substring(sep + 1),
+                        DashboardPartialStore.decode((String) entry.getValue())));
+            }
+        } catch (Exception e) {
+            log.warn("[Dashboard] 일일 집계 조회 실패 - {}: {}", month, e.getMessage());
+            return Map.of();
+        }
+        return stored;
+    }
+
+    // 달 전체를 다시 쓴다 (재집계로 사라진 광고주 행이 남지 않도록)
+    private void write(YearMonth month) {
+        String key = key(month);
+        try {
+            Map<String, String> fields = new HashMap<>();
+            rows.subMap(month.atDay(1), true, month.atEndOfMonth(), true).values().forEach(day -> day.forEach(row ->
+                    fields.put(row.date().toString() + SEPARATOR + row.media() + SEPARATOR + row.advId(),
+                            DashboardPartialStore.encode(row.values()))));
+            redisTemplate.delete(key);
+            if (fields.isEmpty()) return;
+            redisTemplate.opsForHash().putAll(key, fields);
+            redisTemplate.expire(key, Duration.ofDays(ttlDays));
+        } catch (Exception e) {
+            log.warn("[Dashboard] 일일 집계 저장 실패 - {}: {}", month, e.getMessage());
+        }
+    }
+
+    private LocalDate readLoadedThrough() {
+        try {
+            String value = redisTemplate.opsForValue().get(LOADED_KEY);
+            return value != null ? LocalDate.parse(value) : null;
+        } catch (Exception e) {
+            log.warn("[Dashboard] 일일 집계 적재일 조회 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeLoadedThrough(LocalDate date) {
+        try {
+            redisTemplate.opsForValue().set(LOADED_KEY, date.toString());
+        } catch (Exception e) {
+            log.warn("[Dashboard] 일일 집계 적재일 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    private static String key(YearMonth month) {
+        return KEY_PREFIX + month.getYear() + String.format("%02d", month.getMonthValue());
+    }
+}
@@ -0,0 +1,128 @@
+package nhnad.soeun_chat.domain.dashboard.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 대시보드 일별·매체별 부분 집계 저장소 (Redis hash, 월 단위)
+ * key: dashboard:partials:yyyyMM
+ * field: yyyy-MM-dd|매체 → "cost,clicks,impressions,conv,convValue", _last → 마지막으로 집계한 날짜
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DashboardPartialStore {
+
+    private static final String KEY_PREFIX = "dashboard:partials:";
+    private static final String LAST_FIELD = "_last";
+    private static final char SEPARATOR = '|';
+
+    // 지난달 비교가 필요할 수 있으므로 한 달 이상 보관
+    @Value("${dashboard.partials.ttl-days:62}")
+    private long ttlDays;
+
+    private final StringRedisTemplate redisTemplate;
+
+    public record DailyPartial(double cost, long clicks, long impressions, long conversions, double conversionValue) {}
+
+    /**
+     * @param days         날짜 → 매체 → 부분 집계 (날짜 오름차순)
+     * @param lastAggregated 마지막으로 집계한 날짜, 저장된 값이 없으면 null
+     */
+    public record MonthPartials(Map<LocalDate, Map<String, DailyPartial>> days, LocalDate lastAggregated) {
+
+        static MonthPartials empty() {
+            return new MonthPartials(new TreeMap<>(), null);
+        }
+    }
+
+    /**
+     * Redis 장애 또는 형식 오류 시 빈 값을 반환한다 (호출 측은 월 전체를 다시 집계)
+     */
+    public MonthPartials load(YearMonth month) {
+        try {
+            Map<Object, Object> entries = redisTemplate.opsForHash().entries(key(month));
+            Map<LocalDate, Map<String, DailyPartial>> days = new TreeMap<>();
+            LocalDate last = null;
+            for (Map.Entry<Object, Object> entry : entries.entrySet()) {
+                String field = (String) entry.getKey();
+                String value = (String) entry.getValue();
+                if (field.equals(LAST_FIELD)) {
+                    last = LocalDate.parse(value);
+                    continue;
+                }
+                int sep = field.indexOf(SEPARATOR);
+                days.computeIfAbsent(LocalDate.parse(field.substring(0, sep)), d -> new HashMap<>())
+                        .put(field.substring(sep + 1), decode(value));
+            }
+            return new MonthPartials(days, last);
+        } catch (Exception e) {
+            log.warn("[Dashboard] 부분 집계 조회 실패 - {}: {}", month, e.getMessage());
+            return MonthPartials.empty();
+        }
+    }
+
+    /**
+     * from~to 구간의 날짜를 refreshed 값으로 교체하고 마지막 집계일을 to로 기록한다.
+     * 구간 안에서 refreshed에 없는 날짜의 기존 값은 지운다.
+     */
+    public void replace(YearMonth month, MonthPartials stored, LocalDate from, LocalDate to,
+                        Map<LocalDate, Map<String, DailyPartial>> refreshed) {
+        String key = key(month);
+        try {
+            List<Object> removed = new ArrayList<>();
+            stored.days().forEach((date, byMedia) -> {
+                if (date.isBefore(from) || date.isAfter(to)) return;
+                byMedia.keySet().forEach(media -> removed.add(field(date, media)));
+            });
+            if (!removed.isEmpty()) redisTemplate.opsForHash().delete(key, removed.toArray());
+
+            Map<String, String> fields = new HashMap<>();
+            refreshed.forEach((date, byMedia) ->
+                    byMedia.forEach((media, partial) -> fields.put(field(date, media), encode(partial))));
+            fields.put(LAST_FIELD, to.toString());
+            redisTemplate.opsForHash().putAll(key, fields);
+            redisTemplate.expire(key, Duration.ofDays(ttlDays));
+        } catch (Exception e) {
+            log.warn("[Dashboard] 부분 집계 저장 실패 - {}: {}", month, e.getMessage());
+        }
+    }
+
+    public void clear(YearMonth month) {
+        try {
+            redisTemplate.delete(key(month));
+        } catch (Exception e) {
+            log.warn("[Dashboard] 부분 집계 삭제 실패 - {}: {}", month, e.getMessage());
+        }
+    }
+
+    private static String key(YearMonth month) {
+        return KEY_PREFIX + month.getYear() + String.format("%02d", month.getMonthValue());
+    }
+
+    private static String field(LocalDate date, String media) {
+        return date.toString() + SEPARATOR + media;
+    }
+
+    static String encode(DailyPartial p) {
+        return p.cost() + "," + p.clicks() + "," + p.impressions() + "," + p.conversions() + "," + p.conversionValue();
+    }
+
+    static DailyPartial decode(String value) {
+        String[] parts = value.split(",");
+        return new DailyPartial(Double.parseDouble(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2]),
+                Long.parseLong(parts[3]), Double.parseDouble(parts[4]));
+    }
+}
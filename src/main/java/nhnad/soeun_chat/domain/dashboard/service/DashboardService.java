@@ -2,65 +2,397 @@ package nhnad.soeun_chat.domain.dashboard.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import nhnad.soeun_chat.domain.dashboard.dto.DashboardRangeResponse;
 import nhnad.soeun_chat.domain.dashboard.dto.DashboardSummaryResponse;
+import nhnad.soeun_chat.domain.dashboard.dto.DashboardWidget;
+import nhnad.soeun_chat.global.athena.AthenaPartitionCatalog;
+import nhnad.soeun_chat.global.athena.AthenaQueryEngine;
+import nhnad.soeun_chat.global.athena.AthenaResult;
+import nhnad.soeun_chat.global.athena.AthenaWorkload;
+import nhnad.soeun_chat.global.error.ErrorCode;
+import nhnad.soeun_chat.global.exception.BusinessException;
+import nhnad.soeun_chat.global.exception.InvalidValueException;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.services.athena.AthenaClient;
-import software.amazon.awssdk.services.athena.model.*;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class DashboardService {
 
-    private final AthenaClient athenaClient;
-
-    @Value("${aws.athena.database}")
-    private String database;
-
-    @Value("${aws.athena.output-location}")
-    private String outputLocation;
-
-    @Cacheable("dashboard")
-    public DashboardSummaryResponse getSummary() {
+    private static final String QUERY_MODE_PER_WIDGET = "per-widget";
+    private static final String QUERY_MODE_CONSOLIDATED = "consolidated";
+    static final List<String> WIDGET_NAMES =
+            Arrays.stream(DashboardWidget.values()).map(DashboardWidget::key).toList();
+
+    // 위젯 쿼리별 대기 상한, 넘기면 해당 위젯만 빈 값으로 응답
+    @Value("${dashboard.widget-timeout-ms:20000}")
+    private long widgetTimeoutMillis;
+
+    // incremental: 저장된 일별 부분 집계 + 새 파티션만 조회
+    // consolidated: 두 테이블을 한 번 스캔하는 GROUPING SETS 쿼리 1개 / per-widget: 위젯별 쿼리 4개
+    @Value("${dashboard.query-mode:incremental}")
+    private String queryMode;
+
+    // 최근 며칠은 늦게 적재되는 로그가 있을 수 있어 이미 집계했어도 다시 조회한다
+    @Value("${dashboard.partials.settle-days:2}")
+    private int settleDays;
+
+    @Value("${dashboard.range.max-days:366}")
+    private long maxRangeDays;
+
+    private final AthenaQueryEngine athenaQueryEngine;
+    private final DashboardPartialStore dashboardPartialStore;
+    private final AthenaPartitionCatalog athenaPartitionCatalog;
+    private final DailyAggregateStore dailyAggregateStore;
+
+    /**
+     * Athena를 조회해 요약을 새로 만든다. 사용자 요청은 DashboardSummaryCache의 스냅샷으로 응답한다.
+     *
+     * @param reaggregate incremental 모드에서 저장된 부분 집계를 버리고 월 전체를 다시 집계할지
+     */
+    public DashboardSummaryResponse buildSummary(boolean reaggregate) {
         log.info("대시보드 데이터 조회 시작");
 
         LocalDate latestDate = getLatestDate();
         log.info("[Dashboard] 기준 최신 날짜: {}", latestDate);
 
-        AdCostResult adCost           = queryAdCost(latestDate);
-        List<MediaShareData> media    = queryMediaShare(latestDate);
-        List<DailyConvData> daily     = queryDailyConversions(latestDate);
-        PerformanceResult performance = queryPerformanceMetrics(latestDate);
+        Set<String> unavailable = ConcurrentHashMap.newKeySet();
+        WidgetData widgets = switch (queryMode) {
+            case QUERY_MODE_PER_WIDGET -> queryPerWidget(latestDate, unavailable);
+            case QUERY_MODE_CONSOLIDATED -> queryConsolidated(latestDate, unavailable).join();
+            default -> queryIncremental(latestDate, reaggregate, unavailable).join();
+        };
+
+        AdCostResult adCost           = widgets.adCost();
+        List<MediaShareData> media    = widgets.media();
+        List<DailyConvData> daily     = widgets.daily();
+        PerformanceResult performance = widgets.performance();
 
         return new DashboardSummaryResponse(
-                new DashboardSummaryResponse.AdCost(
-                        adCost.today(),
-                        adCost.yesterday(),
-                        adCost.thisWeek(),
-                        calcChangeRate(adCost.today(), adCost.yesterday()),
-                        calcChangeRate(adCost.thisWeek(), adCost.lastWeek())
+                toAdCostResponse(adCost),
+                toMediaShareResponse(media),
+                toDailyConversionsResponse(daily),
+                toPerformanceResponse(performance),
+                unavailable.stream().sorted().toList()
+        );
+    }
+
+    /**
+     * 위젯 하나만 위젯별 쿼리로 새로 계산한다 (다른 위젯은 다시 조회하지 않음)
+     *
+     * @return 시간 초과/오류면 empty
+     */
+    public CompletableFuture<Optional<Object>> buildWidget(DashboardWidget widget) {
+        LocalDate latestDate = getLatestDate();
+        Set<String> unavailable = ConcurrentHashMap.newKeySet();
+        CompletableFuture<Object> data = switch (widget) {
+            case AD_COST -> queryAdCost(latestDate, unavailable).thenApply(this::toAdCostResponse);
+            case MEDIA_SHARE -> queryMediaShare(latestDate, unavailable).thenApply(this::toMediaShareResponse);
+            case DAILY_CONVERSIONS -> queryDailyConversions(latestDate, unavailable).thenApply(this::toDailyConversionsResponse);
+            case PERFORMANCE_METRICS -> queryPerformanceMetrics(latestDate, unavailable).thenApply(this::toPerformanceResponse);
+        };
+        return data.thenApply(value -> unavailable.isEmpty() ? Optional.of(value) : Optional.empty());
+    }
+
+    /**
+     * 임의 기간·광고주의 대시보드 (Athena를 조회하지 않고 일일 집계 인덱스의 누적합으로 계산)
+     *
+     * @param advId null이면 전체 광고주
+     */
+    public DashboardRangeResponse getRange(LocalDate from, LocalDate to, String advId) {
+        if (from.isAfter(to) || ChronoUnit.DAYS.between(from, to) >= maxRangeDays) {
+            throw new InvalidValueException(ErrorCode.INVALID_INPUT);
+        }
+        DailyAggregateIndex index = dailyAggregateStore.index()
+                .filter(i -> !i.isEmpty())
+                .orElseThrow(() -> new BusinessException(ErrorCode.DASHBOARD_NOT_READY));
+
+        String advertiser = advId == null || advId.isBlank() ? null : advId.trim();
+        int[] series = index.series(advertiser != null ? advertiser : DailyAggregateIndex.ALL_ADVERTISERS);
+
+        // 비교 기간: 조회 기간 바로 앞의 같은 길이 기간
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        LocalDate previousFrom = from.minusDays(days);
+        LocalDate previousTo = from.minusDays(1);
+
+        DailyAggregateIndex.Totals current = DailyAggregateIndex.ZERO;
+        DailyAggregateIndex.Totals previous = DailyAggregateIndex.ZERO;
+        List<DashboardSummaryResponse.MediaShare> media = new ArrayList<>();
+        for (int s : series) {
+            DailyAggregateIndex.Totals totals = index.sum(s, from, to);
+            current = current.plus(totals);
+            previous = previous.plus(index.sum(s, previousFrom, previousTo));
+            media.add(new DashboardSummaryResponse.MediaShare(index.media(s), Math.round(totals.cost())));
+        }
+
+        List<DashboardRangeResponse.Daily> daily = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            DailyAggregateIndex.Totals day = DailyAggregateIndex.ZERO;
+            for (int s : series) day = day.plus(index.sum(s, date, date));
+            daily.add(new DashboardRangeResponse.Daily(date.toString(), (long) day.cost(), day.conversions(), day.clicks()));
+        }
+
+        return new DashboardRangeResponse(
+                from.toString(),
+                to.toString(),
+                advertiser,
+                new DashboardRangeResponse.DataRange(index.firstDate().toString(), index.lastDate().toString()),
+                toRangeTotals(current),
+                toRangeTotals(previous),
+                new DashboardRangeResponse.ChangeRates(
+                        calcChangeRate((long) current.cost(), (long) previous.cost()),
+                        calcChangeRate(current.clicks(), previous.clicks()),
+                        calcChangeRate(current.conversions(), previous.conversions())
                 ),
-                media.stream().map(m -> new DashboardSummaryResponse.MediaShare(m.name(), m.value())).toList(),
-                daily.stream().map(d -> new DashboardSummaryResponse.DailyConversions(d.date(), d.conversions(), d.clicks())).toList(),
-                new DashboardSummaryResponse.PerformanceMetrics(
-                        performance.cpc(),
-                        performance.ctr(),
-                        performance.roas()
-                )
+                media,
+                daily,
+                toPerformanceResponse(toPerformance((long) current.cost(), current.clicks(), current.impressions(),
+                        current.conversionValue()))
+        );
+    }
+
+    private DashboardRangeResponse.Totals toRangeTotals(DailyAggregateIndex.Totals totals) {
+        return new DashboardRangeResponse.Totals((long) totals.cost(), totals.clicks(), totals.impressions(),
+                totals.conversions(), Math.round(totals.conversionValue()));
+    }
+
+    private DashboardSummaryResponse.AdCost toAdCostResponse(AdCostResult adCost) {
+        return new DashboardSummaryResponse.AdCost(
+                adCost.today(),
+                adCost.yesterday(),
+                adCost.thisWeek(),
+                calcChangeRate(adCost.today(), adCost.yesterday()),
+                calcChangeRate(adCost.thisWeek(), adCost.lastWeek())
+        );
+    }
+
+    private List<DashboardSummaryResponse.MediaShare> toMediaShareResponse(List<MediaShareData> media) {
+        return media.stream().map(m -> new DashboardSummaryResponse.MediaShare(m.name(), m.value())).toList();
+    }
+
+    private List<DashboardSummaryResponse.DailyConversions> toDailyConversionsResponse(List<DailyConvData> daily) {
+        return daily.stream().map(d -> new DashboardSummaryResponse.DailyConversions(d.date(), d.conversions(), d.clicks())).toList();
+    }
+
+    private DashboardSummaryResponse.PerformanceMetrics toPerformanceResponse(PerformanceResult performance) {
+        return new DashboardSummaryResponse.PerformanceMetrics(
+                performance.cpc(),
+                performance.ctr(),
+                performance.roas()
         );
     }
 
+    private record WidgetData(AdCostResult adCost, List<MediaShareData> media,
+                              List<DailyConvData> daily, PerformanceResult performance) {}
+
+    // 기준 날짜가 정해지면 위젯 쿼리 4개를 동시에 실행 (전체 지연 ≈ 가장 느린 위젯)
+    private WidgetData queryPerWidget(LocalDate latestDate, Set<String> unavailable) {
+        CompletableFuture<AdCostResult> adCostFuture           = queryAdCost(latestDate, unavailable);
+        CompletableFuture<List<MediaShareData>> mediaFuture    = queryMediaShare(latestDate, unavailable);
+        CompletableFuture<List<DailyConvData>> dailyFuture     = queryDailyConversions(latestDate, unavailable);
+        CompletableFuture<PerformanceResult> performanceFuture = queryPerformanceMetrics(latestDate, unavailable);
+        CompletableFuture.allOf(adCostFuture, mediaFuture, dailyFuture, performanceFuture).join();
+
+        return new WidgetData(adCostFuture.join(), mediaFuture.join(), dailyFuture.join(), performanceFuture.join());
+    }
+
+    // ── 통합 쿼리: 두 테이블을 한 번만 스캔해 모든 위젯 집계를 함께 계산 ─────────
+    // grouping_id = GROUPING(basic_date, media)
+    private static final int GROUPING_DATE_MEDIA = 0;  // (basic_date, media): 광고비, 일별 전환
+    private static final int GROUPING_MEDIA      = 2;  // (media): 매체별 비중
+    private static final int GROUPING_TOTAL      = 3;  // (): 종합 성과 지표
+
+    private CompletableFuture<WidgetData> queryConsolidated(LocalDate latestDate, Set<String> unavailable) {
+        String year  = String.valueOf(latestDate.getYear());
+        String month = String.format("%02d", latestDate.getMonthValue());
+
+        // 컬럼 타입/의미는 위젯별 쿼리와 동일하게 맞춘다 (cost_micros는 실제로 원 단위)
+        String sql =
+            "SELECT GROUPING(basic_date, media) AS grouping_id, media, basic_date, " +
+            "       SUM(cost) AS cost, SUM(clicks) AS clicks, SUM(impressions) AS impressions, " +
+            "       SUM(conv) AS conv, SUM(conv_value) AS conv_value " +
+            "FROM ( " +
+            "  SELECT '구글' AS media, basic_date, " +
+            "    CAST(cost_micros AS DOUBLE)        AS cost, " +
+            "    CAST(clicks AS BIGINT)             AS clicks, " +
+            "    CAST(impressions AS BIGINT)        AS impressions, " +
+            "    CAST(conversions AS BIGINT)        AS conv, " +
+            "    CAST(conversions_value AS DOUBLE)  AS conv_value " +
+            "  FROM se_report_db.google_ad_performance " +
+            "  WHERE year='" + year + "' AND month_p='" + month + "' " +
+            "  UNION ALL " +
+            "  SELECT '카카오' AS media, basic_date, " +
+            "    CAST(spending AS DOUBLE)           AS cost, " +
+            "    CAST(click AS BIGINT)              AS clicks, " +
+            "    CAST(imp AS BIGINT)                AS impressions, " +
+            "    CAST(conv_purchase_1d AS BIGINT)   AS conv, " +
+            "    0.0                                AS conv_value " +  // 카카오 전환가치 컬럼 없음
+            "  FROM se_report_db.kakao_ad_performance " +
+            "  WHERE year='" + year + "' AND month_p='" + month + "' " +
+            ") " +
+            "GROUP BY GROUPING SETS ((basic_date, media), (media), ()) " +
+            "ORDER BY grouping_id, media, basic_date";
+
+        return widget("consolidated", WIDGET_NAMES, sql, result -> demultiplex(result, latestDate),
+                new WidgetData(new AdCostResult(0, 0, 0, 0), List.of(), List.of(), new PerformanceResult(0, 0.0, 0.0)),
+                unavailable);
+    }
+
+    private WidgetData demultiplex(AthenaResult result, LocalDate latestDate) {
+        LocalDate dateFrom = latestDate.minusDays(6);
+
+        Map<LocalDate, Long> costByDate = new HashMap<>();
+        Map<LocalDate, long[]> convByDate = new TreeMap<>();  // [전환수, 클릭수]
+        List<MediaShareData> media = new ArrayList<>();
+        PerformanceResult performance = new PerformanceResult(0, 0.0, 0.0);
+
+        for (int r = 0; r < result.rowCount(); r++) {
+            switch ((int) result.getLong(r, 0)) {
+                case GROUPING_DATE_MEDIA -> {
+                    LocalDate date = parseBasicDate(result.getString(r, 2));
+                    costByDate.merge(date, result.getLong(r, 3), Long::sum);
+                    if (!date.isBefore(dateFrom) && !date.isAfter(latestDate)) {
+                        long[] conv = convByDate.computeIfAbsent(date, d -> new long[2]);
+                        conv[0] += result.getLong(r, 6);
+                        conv[1] += result.getLong(r, 4);
+                    }
+                }
+                case GROUPING_MEDIA -> media.add(new MediaShareData(result.getString(r, 1), Math.round(result.getDouble(r, 3))));
+                case GROUPING_TOTAL -> performance = toPerformance(
+                        result.getLong(r, 3), result.getLong(r, 4), result.getLong(r, 5), result.getDouble(r, 7));
+                default -> { }
+            }
+        }
+
+        List<DailyConvData> daily = convByDate.entrySet().stream()
+                .map(e -> new DailyConvData(e.getKey().toString(), e.getValue()[0], e.getValue()[1]))
+                .toList();
+        return new WidgetData(sumAdCost(costByDate, latestDate), media, daily, performance);
+    }
+
+    // ── 증분 집계: 저장된 일별·매체별 부분 집계에 새 파티션만 더한다 ─────────
+    private CompletableFuture<WidgetData> queryIncremental(LocalDate latestDate, boolean reaggregate,
+                                                           Set<String> unavailable) {
+        YearMonth month = YearMonth.from(latestDate);
+        if (reaggregate) dashboardPartialStore.clear(month);
+        DashboardPartialStore.MonthPartials stored = dashboardPartialStore.load(month);
+
+        // 마지막 집계일 다음 날부터, 단 아직 적재가 끝나지 않았을 수 있는 최근 settle-days일은 항상 다시
+        LocalDate from = stored.lastAggregated() != null ? stored.lastAggregated().plusDays(1) : month.atDay(1);
+        LocalDate settling = latestDate.minusDays(Math.max(settleDays, 1) - 1L);
+        if (settling.isBefore(from)) from = settling;
+        if (from.isBefore(month.atDay(1))) from = month.atDay(1);
+        LocalDate queryFrom = from;
+
+        log.info("[Dashboard] 증분 집계 구간: {} ~ {} (저장된 날짜 {}일)", queryFrom, latestDate, stored.days().size());
+
+        String year    = String.valueOf(latestDate.getYear());
+        String monthP  = String.format("%02d", latestDate.getMonthValue());
+        String dayFrom = String.format("%02d", queryFrom.getDayOfMonth());
+        String dayTo   = String.format("%02d", latestDate.getDayOfMonth());
+        String partition = "year='" + year + "' AND month_p='" + monthP + "' " +
+                           "AND day >= '" + dayFrom + "' AND day <= '" + dayTo + "' ";
+
+        String sql =
+            "SELECT basic_date, media, SUM(cost) AS cost, SUM(clicks) AS clicks, SUM(impressions) AS impressions, " +
+            "       SUM(conv) AS conv, SUM(conv_value) AS conv_value " +
+            "FROM ( " +
+            "  SELECT '구글' AS media, basic_date, " +
+            "    CAST(cost_micros AS DOUBLE)        AS cost, " +
+            "    CAST(clicks AS BIGINT)             AS clicks, " +
+            "    CAST(impressions AS BIGINT)        AS impressions, " +
+            "    CAST(conversions AS BIGINT)        AS conv, " +
+            "    CAST(conversions_value AS DOUBLE)  AS conv_value " +
+            "  FROM se_report_db.google_ad_performance " +
+            "  WHERE " + partition +
+            "  UNION ALL " +
+            "  SELECT '카카오' AS media, basic_date, " +
+            "    CAST(spending AS DOUBLE)           AS cost, " +
+            "    CAST(click AS BIGINT)              AS clicks, " +
+            "    CAST(imp AS BIGINT)                AS impressions, " +
+            "    CAST(conv_purchase_1d AS BIGINT)   AS conv, " +
+            "    0.0                                AS conv_value " +  // 카카오 전환가치 컬럼 없음
+            "  FROM se_report_db.kakao_ad_performance " +
+            "  WHERE " + partition +
+            ") " +
+            "GROUP BY basic_date, media";
+
+        return widget("incremental", WIDGET_NAMES, sql, result -> {
+                    Map<LocalDate, Map<String, DashboardPartialStore.DailyPartial>> refreshed = new TreeMap<>();
+                    for (int r = 0; r < result.rowCount(); r++) {
+                        refreshed.computeIfAbsent(parseBasicDate(result.getString(r, 0)), d -> new HashMap<>())
+                                .put(result.getString(r, 1), new DashboardPartialStore.DailyPartial(
+                                        result.getDouble(r, 2), result.getLong(r, 3), result.getLong(r, 4),
+                                        result.getLong(r, 5), result.getDouble(r, 6)));
+                    }
+                    dashboardPartialStore.replace(month, stored, queryFrom, latestDate, refreshed);
+
+                    Map<LocalDate, Map<String, DashboardPartialStore.DailyPartial>> days = new TreeMap<>(stored.days());
+                    days.keySet().removeIf(date -> !date.isBefore(queryFrom));
+                    days.putAll(refreshed);
+                    return fold(days, latestDate);
+                },
+                new WidgetData(new AdCostResult(0, 0, 0, 0), List.of(), List.of(), new PerformanceResult(0, 0.0, 0.0)),
+                unavailable);
+    }
+
+    // 일별·매체별 부분 집계 → 위젯 4종 (위젯별 쿼리와 같은 반올림/절사 규칙)
+    private WidgetData fold(Map<LocalDate, Map<String, DashboardPartialStore.DailyPartial>> days, LocalDate latestDate) {
+        LocalDate dateFrom = latestDate.minusDays(6);
+
+        Map<LocalDate, Long> costByDate = new HashMap<>();
+        Map<String, Double> costByMedia = new TreeMap<>();
+        List<DailyConvData> daily = new ArrayList<>();
+        double totalCost = 0, totalConvValue = 0;
+        long totalClicks = 0, totalImpressions = 0;
+
+        for (Map.Entry<LocalDate, Map<String, DashboardPartialStore.DailyPartial>> day : days.entrySet()) {
+            LocalDate date = day.getKey();
+            if (date.isAfter(latestDate)) continue;
+            long conv = 0, clicks = 0;
+            for (Map.Entry<String, DashboardPartialStore.DailyPartial> entry : day.getValue().entrySet()) {
+                DashboardPartialStore.DailyPartial p = entry.getValue();
+                costByDate.merge(date, (long) p.cost(), Long::sum);
+                costByMedia.merge(entry.getKey(), p.cost(), Double::sum);
+                totalCost        += p.cost();
+                totalClicks      += p.clicks();
+                totalImpressions += p.impressions();
+                totalConvValue   += p.conversionValue();
+                conv   += p.conversions();
+                clicks += p.clicks();
+            }
+            if (!date.isBefore(dateFrom)) daily.add(new DailyConvData(date.toString(), conv, clicks));
+        }
+
+        List<MediaShareData> media = costByMedia.entrySet().stream()
+                .map(e -> new MediaShareData(e.getKey(), Math.round(e.getValue())))
+                .toList();
+        return new WidgetData(sumAdCost(costByDate, latestDate), media, daily,
+                toPerformance((long) totalCost, totalClicks, totalImpressions, totalConvValue));
+    }
+
     // ── 쿼리 1: 광고비 (오늘/어제/이번주) ──────────────────────────────
     private record AdCostResult(long today, long yesterday, long thisWeek, long lastWeek) {}
 
-    private AdCostResult queryAdCost(LocalDate latestDate) {
+    private CompletableFuture<AdCostResult> queryAdCost(LocalDate latestDate, Set<String> unavailable) {
         String year  = String.valueOf(latestDate.getYear());
         String month = String.format("%02d", latestDate.getMonthValue());
 
@@ -84,24 +416,33 @@ public class DashboardService {
             "WHERE year='" + year + "' AND month_p='" + month + "' " +
             "GROUP BY basic_date";
 
-        List<Row> rows = executeAndGetRows(sql);
+        return widget(DashboardWidget.AD_COST.key(), sql, result -> toAdCost(result, latestDate),
+                new AdCostResult(0, 0, 0, 0), unavailable);
+    }
 
+    private AdCostResult toAdCost(AthenaResult result, LocalDate latestDate) {
+        Map<LocalDate, Long> costByDate = new HashMap<>();
+        for (int r = 0; r < result.rowCount(); r++) {
+            costByDate.merge(LocalDate.parse(result.getString(r, 0)), result.getLong(r, 1), Long::sum);
+        }
+        return sumAdCost(costByDate, latestDate);
+    }
+
+    private AdCostResult sumAdCost(Map<LocalDate, Long> costByDate, LocalDate latestDate) {
         // "오늘"은 LocalDate.now()가 아닌 latestDate(DB 최신 날짜) 기준
         // 전주 데이터가 동일 month_p에 없으면 lastWeek=0 허용
         LocalDate weekStart     = latestDate.with(DayOfWeek.MONDAY);
         LocalDate lastWeekStart = weekStart.minusWeeks(1);
-        String latestStr        = latestDate.toString();
-        String prevDayStr       = latestDate.minusDays(1).toString();
+        LocalDate prevDay       = latestDate.minusDays(1);
 
         long todayCost = 0, yesterdayCost = 0, thisWeek = 0, lastWeek = 0;
 
-        for (Row row : rows) {
-            String dateStr    = row.data().get(0).varCharValue();
-            long cost         = parseLong(row.data().get(1).varCharValue());
-            LocalDate rowDate = LocalDate.parse(dateStr);
+        for (Map.Entry<LocalDate, Long> entry : costByDate.entrySet()) {
+            LocalDate rowDate = entry.getKey();
+            long cost         = entry.getValue();
 
-            if (dateStr.equals(latestStr))                                         todayCost     += cost;
-            if (dateStr.equals(prevDayStr))                                        yesterdayCost += cost;
+            if (rowDate.equals(latestDate))                                        todayCost     += cost;
+            if (rowDate.equals(prevDay))                                           yesterdayCost += cost;
             if (!rowDate.isBefore(weekStart))                                      thisWeek      += cost;
             if (!rowDate.isBefore(lastWeekStart) && rowDate.isBefore(weekStart))   lastWeek      += cost;
         }
@@ -112,7 +453,7 @@ public class DashboardService {
     // ── 쿼리 2: 매체별 비중 ──────────────────────────────────────────
     private record MediaShareData(String name, long value) {}
 
-    private List<MediaShareData> queryMediaShare(LocalDate latestDate) {
+    private CompletableFuture<List<MediaShareData>> queryMediaShare(LocalDate latestDate, Set<String> unavailable) {
         String year  = String.valueOf(latestDate.getYear());
         String month = String.format("%02d", latestDate.getMonthValue());
 
@@ -126,20 +467,23 @@ public class DashboardService {
             "FROM se_report_db.kakao_ad_performance " +
             "WHERE year='" + year + "' AND month_p='" + month + "'";
 
-        List<Row> rows = executeAndGetRows(sql);
-        List<MediaShareData> result = new ArrayList<>();
-        for (Row row : rows) {
-            String name = row.data().get(0).varCharValue();
-            long cost   = parseLong(row.data().get(1).varCharValue());
-            result.add(new MediaShareData(name, cost));
+        return widget(DashboardWidget.MEDIA_SHARE.key(), sql, this::toMediaShare, List.of(), unavailable);
+    }
+
+    private List<MediaShareData> toMediaShare(AthenaResult result) {
+        List<MediaShareData> media = new ArrayList<>();
+        for (int r = 0; r < result.rowCount(); r++) {
+            String name = result.getString(r, 0);
+            long cost   = result.getLong(r, 1);
+            media.add(new MediaShareData(name, cost));
         }
-        return result;
+        return media;
     }
 
     // ── 쿼리 3: 최근 7일 일별 전환 추이 ─────────────────────────────
     private record DailyConvData(String date, long conversions, long clicks) {}
 
-    private List<DailyConvData> queryDailyConversions(LocalDate latestDate) {
+    private CompletableFuture<List<DailyConvData>> queryDailyConversions(LocalDate latestDate, Set<String> unavailable) {
         String year      = String.valueOf(latestDate.getYear());
         String month     = String.format("%02d", latestDate.getMonthValue());
         String dateFrom  = latestDate.minusDays(6).toString();
@@ -170,21 +514,24 @@ public class DashboardService {
             "GROUP BY date_str " +
             "ORDER BY date_str ASC";
 
-        List<Row> rows = executeAndGetRows(sql);
-        List<DailyConvData> result = new ArrayList<>();
-        for (Row row : rows) {
-            String date = row.data().get(0).varCharValue();
-            long conv   = parseLong(row.data().get(1).varCharValue());
-            long clicks = parseLong(row.data().get(2).varCharValue());
-            result.add(new DailyConvData(date, conv, clicks));
+        return widget(DashboardWidget.DAILY_CONVERSIONS.key(), sql, this::toDailyConversions, List.of(), unavailable);
+    }
+
+    private List<DailyConvData> toDailyConversions(AthenaResult result) {
+        List<DailyConvData> daily = new ArrayList<>();
+        for (int r = 0; r < result.rowCount(); r++) {
+            String date = result.getString(r, 0);
+            long conv   = result.getLong(r, 1);
+            long clicks = result.getLong(r, 2);
+            daily.add(new DailyConvData(date, conv, clicks));
         }
-        return result;
+        return daily;
     }
 
     // ── 쿼리 4: 종합 성과 지표 ────────────────────────────────────────
     private record PerformanceResult(long cpc, double ctr, double roas) {}
 
-    private PerformanceResult queryPerformanceMetrics(LocalDate latestDate) {
+    private CompletableFuture<PerformanceResult> queryPerformanceMetrics(LocalDate latestDate, Set<String> unavailable) {
         String year  = String.valueOf(latestDate.getYear());
         String month = String.format("%02d", latestDate.getMonthValue());
 
@@ -213,15 +560,17 @@ public class DashboardService {
             "  WHERE year='" + year + "' AND month_p='" + month + "' " +
             ")";
 
-        List<Row> rows = executeAndGetRows(sql);
-        if (rows.isEmpty()) return new PerformanceResult(0, 0.0, 0.0);
+        return widget(DashboardWidget.PERFORMANCE_METRICS.key(), sql, this::toPerformanceMetrics,
+                new PerformanceResult(0, 0.0, 0.0), unavailable);
+    }
 
-        Row row = rows.get(0);
-        long   totalCost        = parseLong(row.data().get(0).varCharValue());
-        long   totalClicks      = parseLong(row.data().get(1).varCharValue());
-        long   totalImpressions = parseLong(row.data().get(2).varCharValue());
-        double totalConvValue   = parseDouble(row.data().get(3).varCharValue());
+    private PerformanceResult toPerformanceMetrics(AthenaResult result) {
+        if (result.rowCount() == 0) return new PerformanceResult(0, 0.0, 0.0);
 
+        return toPerformance(result.getLong(0, 0), result.getLong(0, 1), result.getLong(0, 2), result.getDouble(0, 3));
+    }
+
+    private PerformanceResult toPerformance(long totalCost, long totalClicks, long totalImpressions, double totalConvValue) {
         long   cpc  = totalClicks > 0 ? totalCost / totalClicks : 0;
         double ctr  = totalImpressions > 0
                       ? Math.round((double) totalClicks / totalImpressions * 1000.0) / 10.0
@@ -234,68 +583,56 @@ public class DashboardService {
     }
 
     // ── 날짜 헬퍼 ────────────────────────────────────────────────
-    // DB에 적재된 가장 최신 basic_date를 기준 날짜로 사용 (현재 날짜와 불일치 방지)
+    // 가장 최근에 적재된 파티션 날짜를 기준 날짜로 사용 (현재 날짜와 불일치 방지, 데이터 스캔 없음)
     private LocalDate getLatestDate() {
-        String sql = """
-            SELECT MAX(basic_date) AS latest
-            FROM (
-              SELECT MAX(basic_date) AS basic_date
-              FROM se_report_db.google_ad_performance
-              UNION ALL
-              SELECT MAX(basic_date) AS basic_date
-              FROM se_report_db.kakao_ad_performance
-            )
-            """;
-
-        List<Row> rows = executeAndGetRows(sql);
-        if (rows.isEmpty()) return LocalDate.now();
-
-        String raw = rows.get(0).data().get(0).varCharValue();
-        // basic_date가 20260207 형태(bigint)이므로 파싱
+        return athenaPartitionCatalog.latestDate().orElseGet(() -> {
+            log.warn("[Dashboard] 파티션 목록이 없어 오늘 날짜를 기준으로 사용");
+            return LocalDate.now();
+        });
+    }
+
+    // basic_date가 20260207 형태(bigint)이므로 파싱
+    private LocalDate parseBasicDate(String raw) {
         String formatted = raw.substring(0, 4) + "-" + raw.substring(4, 6) + "-" + raw.substring(6, 8);
         return LocalDate.parse(formatted);
     }
 
     // ── 공통 유틸 ─────────────────────────────────────────────────
-    private List<Row> executeAndGetRows(String sql) {
-        try {
-            log.info("[Dashboard] 쿼리 실행: {}", sql.substring(0, Math.min(sql.length(), 100)));
-
-            String queryId = athenaClient.startQueryExecution(
-                    StartQueryExecutionRequest.builder()
-                            .queryString(sql)
-                            .queryExecutionContext(QueryExecutionContext.builder()
-                                    .database(database).build())
-                            .resultConfiguration(ResultConfiguration.builder()
-                                    .outputLocation(outputLocation).build())
-                            .build()
-            ).queryExecutionId();
-
-            while (true) {
-                QueryExecutionStatus status = athenaClient.getQueryExecution(
-                        GetQueryExecutionRequest.builder().queryExecutionId(queryId).build()
-                ).queryExecution().status();
-
-                QueryExecutionState state = status.state();
-                if (state == QueryExecutionState.SUCCEEDED) break;
-                if (state == QueryExecutionState.FAILED || state == QueryExecutionState.CANCELLED) {
-                    log.error("[Dashboard] 쿼리 실패: {}", status.stateChangeReason());
-                    return List.of();
-                }
-                Thread.sleep(500);
-            }
-
-            List<Row> rows = athenaClient.getQueryResults(
-                    GetQueryResultsRequest.builder().queryExecutionId(queryId).build()
-            ).resultSet().rows();
-
-            log.info("[Dashboard] 쿼리 결과: {}행 (헤더 포함)", rows.size());
-            return rows.size() > 1 ? rows.subList(1, rows.size()) : List.of();
+    /**
+     * 위젯 쿼리를 비동기로 실행하고 결과를 변환한다.
+     * 시간 초과나 오류가 나면 fallback으로 채우고 unavailable에 위젯명을 남긴다 (예외로 끝나지 않음).
+     */
+    private <T> CompletableFuture<T> widget(String name, String sql, Function<AthenaResult, T> parser,
+                                            T fallback, Set<String> unavailable) {
+        return widget(name, List.of(name), sql, parser, fallback, unavailable);
+    }
 
-        } catch (Exception e) {
-            log.error("[Dashboard] 쿼리 실행 오류: {}", e.getMessage(), e);
-            return List.of();
-        }
+    /**
+     * @param covers 이 쿼리가 실패하면 빈 값이 되는 위젯들
+     */
+    private <T> CompletableFuture<T> widget(String name, List<String> covers, String sql, Function<AthenaResult, T> parser,
+                                            T fallback, Set<String> unavailable) {
+        log.info("[Dashboard] {} 쿼리 실행: {}", name, sql.substring(0, Math.min(sql.length(), 100)));
+
+        CompletableFuture<AthenaResult> query = athenaQueryEngine.execute(sql, AthenaWorkload.dashboard());
+        // orTimeout과 달리 cancel은 엔진까지 전달되어, 기다리는 호출자가 없으면 Athena 쿼리도 중단된다
+        CompletableFuture.delayedExecutor(widgetTimeoutMillis, TimeUnit.MILLISECONDS)
+                .execute(() -> query.cancel(false));
+
+        return query
+                .thenApply(result -> {
+                    log.info("[Dashboard] {} 쿼리 결과: {}행", name, result.rowCount());
+                    return parser.apply(result);
+                })
+                .exceptionally(e -> {
+                    if (query.isCancelled()) {
+                        log.warn("[Dashboard] {} 위젯 시간 초과({}ms) - 빈 값으로 응답", name, widgetTimeoutMillis);
+                    } else {
+                        log.error("[Dashboard] {} 위젯 조회 오류 - 빈 값으로 응답: {}", name, e.getMessage(), e);
+                    }
+                    unavailable.addAll(covers);
+                    return fallback;
+                });
     }
 
     private double calcChangeRate(long current, long previous) {
@@ -303,22 +640,4 @@ public class DashboardService {
         double rate = (double)(current - previous) / previous * 100.0;
         return Math.round(rate * 10.0) / 10.0;
     }
-
-    private double parseDouble(String value) {
-        if (value == null || value.isBlank()) return 0.0;
-        try {
-            return Double.parseDouble(value.replace(",", ""));
-        } catch (NumberFormatException e) {
-            return 0.0;
-        }
-    }
-
-    private long parseLong(String value) {
-        if (value == null || value.isBlank()) return 0L;
-        try {
-            return (long) Double.parseDouble(value.replace(",", ""));
-        } catch (NumberFormatException e) {
-            return 0L;
-        }
-    }
 }
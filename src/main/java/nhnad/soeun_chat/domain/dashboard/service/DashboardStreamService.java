@@ -0,0 +1,56 @@
+package nhnad.soeun_chat.domain.dashboard.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import nhnad.soeun_chat.domain.dashboard.dto.DashboardWidget;
+import nhnad.soeun_chat.domain.dashboard.dto.DashboardWidgetResponse;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 위젯이 준비되는 순서대로 SSE 이벤트(이름 = 위젯 키)로 보낸다
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardStreamService {
+
+    private final DashboardWidgetCache dashboardWidgetCache;
+
+    public void stream(SseEmitter emitter) {
+        CompletableFuture<?>[] widgets = Arrays.stream(DashboardWidget.values())
+                .map(widget -> dashboardWidgetCache.get(widget, false)
+                        .exceptionally(e -> {
+                            log.error("[Dashboard] 위젯 스트리밍 조회 실패 - {}: {}", widget.key(), e.getMessage());
+                            return new DashboardWidgetResponse(widget.key(), false, System.currentTimeMillis(), null);
+                        })
+                        .thenAccept(response -> send(emitter, response)))
+                .toArray(CompletableFuture[]::new);
+
+        CompletableFuture.allOf(widgets).whenComplete((ignored, error) -> {
+            try {
+                synchronized (emitter) {
+                    emitter.send(SseEmitter.event().name("done").data("[DONE]"));
+                }
+                emitter.complete();
+            } catch (Exception e) {
+                log.warn("[Dashboard] 스트리밍 종료 전송 실패: {}", e.getMessage());
+            }
+        });
+    }
+
+    // 여러 위젯의 완료 콜백이 동시에 호출될 수 있으므로 전송은 직렬화
+    private void send(SseEmitter emitter, DashboardWidgetResponse response) {
+        try {
+            synchronized (emitter) {
+                emitter.send(SseEmitter.event().name(response.widget()).data(response, MediaType.APPLICATION_JSON));
+            }
+        } catch (Exception e) {
+            log.warn("[Dashboard] 위젯 이벤트 전송 실패 - {}: {}", response.widget(), e.getMessage());
+        }
+    }
+}
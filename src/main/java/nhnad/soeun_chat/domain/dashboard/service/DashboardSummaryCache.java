@@ -0,0 +1,202 @@
+package nhnad.soeun_chat.domain.dashboard.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import nhnad.soeun_chat.domain.dashboard.dto.DashboardSummaryResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 대시보드 요약 stale-while-revalidate 캐시
+ * - 조회는 항상 마지막으로 만들어진 스냅샷을 바로 반환하고, Athena를 기다리지 않는다
+ * - 스냅샷이 refresh-after보다 오래되면 백그라운드에서 다시 만든다 (스케줄러 + 조회 시점 모두에서 확인)
+ * - 재생성은 Redis 락을 잡은 노드 하나만 수행한다
+ * - 일부 위젯이 빈 값인 결과는 이전 스냅샷이 있으면 덮어쓰지 않는다
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardSummaryCache {
+
+    private static final String SNAPSHOT_KEY = "dashboard:summary";
+    private static final String LOCK_KEY = "dashboard:summary:lock";
+    private static final long PARTIAL_RETRY_MILLIS = 60_000;
+
+    @Value("${dashboard.cache.refresh-after-minutes:50}")
+    private long refreshAfterMinutes;
+
+    // 재생성 소요시간(위젯 타임아웃 포함)보다 길게
+    @Value("${dashboard.cache.lock-seconds:120}")
+    private long lockSeconds;
+
+    private final DashboardService dashboardService;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "dashboard-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Redis 장애 시에도 이 노드가 마지막으로 본 스냅샷은 계속 응답
+    private volatile Snapshot local;
+
+    record Snapshot(long builtAtMillis, DashboardSummaryResponse summary) {}
+
+    /**
+     * 스냅샷이 아직 한 번도 만들어지지 않았다면 모든 위젯이 빈 값인 응답을 반환한다 (재생성은 백그라운드에서 시작)
+     */
+    public DashboardSummaryResponse getSummary() {
+        return snapshot().map(Snapshot::summary).orElseGet(() -> {
+            log.info("[Dashboard] 스냅샷 없음 - 빈 응답 후 백그라운드 생성");
+            return emptySummary();
+        });
+    }
+
+    /**
+     * 현재 스냅샷 (오래됐거나 없으면 백그라운드 재생성을 요청)
+     */
+    Optional<Snapshot> snapshot() {
+        Snapshot snapshot = read();
+        if (snapshot == null || isStale(snapshot)) refreshAsync(false);
+        return Optional.ofNullable(snapshot);
+    }
+
+    /**
+     * 현재 스냅샷은 유지한 채 즉시 재생성을 요청한다 (새 스냅샷이 저장되면 교체됨)
+     */
+    public void invalidate() {
+        refreshAsync(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refreshAsync(false);
+    }
+
+    // 만료 전에 미리 재생성: 모든 노드가 확인하지만 락을 잡은 노드만 Athena를 조회한다
+    @Scheduled(fixedDelayString = "${dashboard.cache.check-interval-ms:60000}",
+            initialDelayString = "${dashboard.cache.check-interval-ms:60000}")
+    public void refreshIfStale() {
+        Snapshot snapshot = read();
+        if (snapshot == null || isStale(snapshot)) refresh(false);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private void refreshAsync(boolean force) {
+        // 이 노드에서 이미 재생성 중이면 작업을 더 쌓지 않는다
+        if (refreshing.get()) return;
+        refreshExecutor.execute(() -> refresh(force));
+    }
+
+    private void refresh(boolean force) {
+        if (!refreshing.compareAndSet(false, true)) return;
+        String token = UUID.randomUUID().toString();
+        try {
+            if (!acquireLock(token)) {
+                log.debug("[Dashboard] 다른 노드가 스냅샷 재생성 중");
+                return;
+            }
+            // 락을 기다리는 사이 다른 노드가 이미 새로 만들었을 수 있다
+            Snapshot current = read();
+            if (!force && current != null && !isStale(current)) return;
+
+            long startedAt = System.currentTimeMillis();
+            // 강제 재생성은 저장된 부분 집계도 버리고 월 전체를 다시 집계
+            DashboardSummaryResponse summary = dashboardService.buildSummary(force);
+            if (!summary.unavailableWidgets().isEmpty() && current != null) {
+                log.warn("[Dashboard] 일부 위젯 조회 실패 {} - 이전 스냅샷 유지", summary.unavailableWidgets());
+                return;
+            }
+            write(new Snapshot(System.currentTimeMillis(), summary));
+            log.info("[Dashboard] 스냅샷 재생성 완료 ({}ms)", System.currentTimeMillis() - startedAt);
+        } catch (Exception e) {
+            log.error("[Dashboard] 스냅샷 재생성 실패: {}", e.getMessage(), e);
+        } finally {
+            releaseLock(token);
+            refreshing.set(false);
+        }
+    }
+
+    private boolean isStale(Snapshot snapshot) {
+        long age = System.currentTimeMillis() - snapshot.builtAtMillis();
+        // 빈 위젯이 있는 스냅샷은 첫 생성 때만 저장되므로 짧은 간격으로 다시 시도한다
+        if (!snapshot.summary().unavailableWidgets().isEmpty()) return age >= PARTIAL_RETRY_MILLIS;
+        return age >= Duration.ofMinutes(refreshAfterMinutes).toMillis();
+    }
+
+    private Snapshot read() {
+        try {
+            String cached = redisTemplate.opsForValue().get(SNAPSHOT_KEY);
+            if (cached != null) {
+                Snapshot snapshot = objectMapper.readValue(cached, Snapshot.class);
+                local = snapshot;
+                return snapshot;
+            }
+        } catch (Exception e) {
+            log.warn("[Dashboard] 스냅샷 조회 실패, 로컬 사본 사용: {}", e.getMessage());
+        }
+        return local;
+    }
+
+    // 만료 없이 보관: 재생성이 계속 실패해도 마지막 정상 스냅샷은 남는다
+    private void write(Snapshot snapshot) {
+        local = snapshot;
+        try {
+            redisTemplate.opsForValue().set(SNAPSHOT_KEY, objectMapper.writeValueAsString(snapshot));
+        } catch (Exception e) {
+            log.warn("[Dashboard] 스냅샷 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    private boolean acquireLock(String token) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue()
+                    .setIfAbsent(LOCK_KEY, token, Duration.ofSeconds(lockSeconds)));
+        } catch (Exception e) {
+            // Redis 장애 시에는 노드별로 재생성 (이 노드 안에서는 refreshing으로 1건만)
+            log.warn("[Dashboard] 재생성 락 획득 실패: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    private void releaseLock(String token) {
+        try {
+            if (token.equals(redisTemplate.opsForValue().get(LOCK_KEY))) {
+                redisTemplate.delete(LOCK_KEY);
+            }
+        } catch (Exception e) {
+            log.warn("[Dashboard] 재생성 락 해제 실패: {}", e.getMessage());
+        }
+    }
+
+    private static DashboardSummaryResponse emptySummary() {
+        return new DashboardSummaryResponse(
+                new DashboardSummaryResponse.AdCost(0, 0, 0, 0.0, 0.0),
+                List.of(),
+                List.of(),
+                new DashboardSummaryResponse.PerformanceMetrics(0, 0.0, 0.0),
+                DashboardService.WIDGET_NAMES
+        );
+    }
+}
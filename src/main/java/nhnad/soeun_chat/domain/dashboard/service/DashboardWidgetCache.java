@@ -0,0 +1,92 @@
+package nhnad.soeun_chat.domain.dashboard.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import nhnad.soeun_chat.domain.dashboard.dto.DashboardWidget;
+import nhnad.soeun_chat.domain.dashboard.dto.DashboardWidgetResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 위젯별 캐시: 위젯 하나만 새로 계산해 따로 저장한다 (key: dashboard:widget:위젯키)
+ * 조회 시 위젯별 항목과 요약 스냅샷 중 더 최근 것을 쓰고, 둘 다 없을 때만 그 위젯의 쿼리를 실행한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardWidgetCache {
+
+    private static final String KEY_PREFIX = "dashboard:widget:";
+
+    // 만료되면 스케줄러가 갱신하는 요약 스냅샷으로 돌아간다
+    @Value("${dashboard.cache.refresh-after-minutes:50}")
+    private long ttlMinutes;
+
+    private final DashboardService dashboardService;
+    private final DashboardSummaryCache dashboardSummaryCache;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private record Entry(long builtAtMillis, JsonNode data) {}
+
+    /**
+     * @param refresh true면 캐시를 무시하고 이 위젯만 다시 계산
+     */
+    public CompletableFuture<DashboardWidgetResponse> get(DashboardWidget widget, boolean refresh) {
+        if (!refresh) {
+            DashboardWidgetResponse cached = cached(widget);
+            if (cached != null) return CompletableFuture.completedFuture(cached);
+        }
+        return rebuild(widget);
+    }
+
+    private DashboardWidgetResponse cached(DashboardWidget widget) {
+        Entry entry = read(widget);
+        DashboardSummaryCache.Snapshot snapshot = dashboardSummaryCache.snapshot().orElse(null);
+        Object fromSnapshot = snapshot != null ? widget.extract(snapshot.summary()) : null;
+
+        if (entry != null && (fromSnapshot == null || entry.builtAtMillis() >= snapshot.builtAtMillis())) {
+            return new DashboardWidgetResponse(widget.key(), true, entry.builtAtMillis(), entry.data());
+        }
+        if (fromSnapshot != null) {
+            return new DashboardWidgetResponse(widget.key(), true, snapshot.builtAtMillis(), fromSnapshot);
+        }
+        return null;
+    }
+
+    private CompletableFuture<DashboardWidgetResponse> rebuild(DashboardWidget widget) {
+        log.info("[Dashboard] 위젯 단독 재계산 - {}", widget.key());
+        return dashboardService.buildWidget(widget).thenApply(data -> {
+            long builtAt = System.currentTimeMillis();
+            if (data.isEmpty()) return new DashboardWidgetResponse(widget.key(), false, builtAt, null);
+
+            write(widget, new Entry(builtAt, objectMapper.valueToTree(data.get())));
+            return new DashboardWidgetResponse(widget.key(), true, builtAt, data.get());
+        });
+    }
+
+    private Entry read(DashboardWidget widget) {
+        try {
+            String cached = redisTemplate.opsForValue().get(KEY_PREFIX + widget.key());
+            return cached != null ? objectMapper.readValue(cached, Entry.class) : null;
+        } catch (Exception e) {
+            log.warn("[Dashboard] 위젯 캐시 조회 실패 - {}: {}", widget.key(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void write(DashboardWidget widget, Entry entry) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + widget.key(), objectMapper.writeValueAsString(entry),
+                    Duration.ofMinutes(ttlMinutes));
+        } catch (Exception e) {
+            log.warn("[Dashboard] 위젯 캐시 저장 실패 - {}: {}", widget.key(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package nhnad.soeun_chat.domain.report.service;
+
+import java.util.List;
+
+/**
+ * 주간 리포트 고정 쿼리 (순서 = 리포트에 표시되는 차트 순서)
+ * 날짜 자리표시자({{WEEK_PARTITIONS}}, {{WEEK_FROM}} 등)는 PromptDateMapping으로 채운다.
+ */
+record ReportQuery(String title, String chartType, String sql) {
+
+    static final List<ReportQuery> WEEKLY = List.of(
+            new ReportQuery("매체별 광고비 합계", "pie", """
+                    SELECT
+                      '구글' AS "매체",
+                      ROUND(SUM(cost_micros) / 1000000.0, 0) AS "광고비(원)"
+                    FROM se_report_db.google_ad_performance
+                    WHERE {{WEEK_PARTITIONS}} AND basic_date BETWEEN {{WEEK_FROM}} AND {{LATEST}}
+                    UNION ALL
+                    SELECT
+                      '카카오' AS "매체",
+                      ROUND(SUM(spending), 0) AS "광고비(원)"
+                    FROM se_report_db.kakao_ad_performance
+                    WHERE {{WEEK_PARTITIONS}} AND basic_date BETWEEN {{WEEK_FROM}} AND {{LATEST}}
+                    """),
+            new ReportQuery("일별 매체 통합 광고비 추이", "line", """
+                    SELECT
+                      SUBSTR(CAST(basic_date AS VARCHAR),1,4)||'-'||SUBSTR(CAST(basic_date AS VARCHAR),5,2)||'-'||SUBSTR(CAST(basic_date AS VARCHAR),7,2) AS "날짜",
+                      ROUND(SUM(cost_micros)/1000000.0,0) AS "구글 광고비(원)",
+                      0 AS "카카오 광고비(원)"
+                    FROM se_report_db.google_ad_performance
+                    WHERE {{WEEK_PARTITIONS}} AND basic_date BETWEEN {{WEEK_FROM}} AND {{LATEST}}
+                    GROUP BY basic_date
+                    UNION ALL
+                    SELECT
+                      SUBSTR(CAST(basic_date AS VARCHAR),1,4)||'-'||SUBSTR(CAST(basic_date AS VARCHAR),5,2)||'-'||SUBSTR(CAST(basic_date AS VARCHAR),7,2) AS "날짜",
+                      0 AS "구글 광고비(원)",
+                      ROUND(SUM(spending),0) AS "카카오 광고비(원)"
+                    FROM se_report_db.kakao_ad_performance
+                    WHERE {{WEEK_PARTITIONS}} AND basic_date BETWEEN {{WEEK_FROM}} AND {{LATEST}}
+                    GROUP BY basic_date
+                    ORDER BY "날짜"
+                    """),
+            new ReportQuery("구글 캠페인별 성과 (클릭수 상위 5개)", "bar", """
+                    SELECT
+                      camp_name AS "캠페인명",
+                      SUM(clicks) AS "클릭수",
+                      ROUND(SUM(cost_micros)/1000000.0, 0) AS "광고비(원)"
+                    FROM se_report_db.google_ad_performance
+                    WHERE {{WEEK_PARTITIONS}} AND basic_date BETWEEN {{WEEK_FROM}} AND {{LATEST}}
+                    GROUP BY camp_name
+                    ORDER BY "클릭수" DESC
+                    LIMIT 5
+                    """),
+            new ReportQuery("주간 일별 상세 지표", "table", """
+                    SELECT
+                      SUBSTR(CAST(basic_date AS VARCHAR),1,4)||'-'||SUBSTR(CAST(basic_date AS VARCHAR),5,2)||'-'||SUBSTR(CAST(basic_date AS VARCHAR),7,2) AS "날짜",
+                      SUM(g_imp) AS "구글 노출",
+                      SUM(g_click) AS "구글 클릭",
+                      ROUND(SUM(g_cost),0) AS "구글 광고비(원)",
+                      SUM(k_imp) AS "카카오 노출",
+                      SUM(k_click) AS "카카오 클릭",
+                      ROUND(SUM(k_cost),0) AS "카카오 광고비(원)"
+                    FROM (
+                      SELECT basic_date,
+                        SUM(impressions) AS g_imp, SUM(clicks) AS g_click,
+                        SUM(cost_micros)/1000000.0 AS g_cost,
+                        0 AS k_imp, 0 AS k_click, 0 AS k_cost
+                      FROM se_report_db.google_ad_performance
+                      WHERE {{WEEK_PARTITIONS}} AND basic_date BETWEEN {{WEEK_FROM}} AND {{LATEST}}
+                      GROUP BY basic_date
+                      UNION ALL
+                      SELECT basic_date,
+                        0 AS g_imp, 0 AS g_click, 0 AS g_cost,
+                        SUM(imp) AS k_imp, SUM(click) AS k_click, SUM(spending) AS k_cost
+                      FROM se_report_db.kakao_ad_performance
+                      WHERE {{WEEK_PARTITIONS}} AND basic_date BETWEEN {{WEEK_FROM}} AND {{LATEST}}
+                      GROUP BY basic_date
+                    )
+                    GROUP BY basic_date
+                    ORDER BY basic_date
+                    """)
+    );
+}
@@ -6,7 +6,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import nhnad.soeun_chat.domain.chat.repository.ConversationRepository;
+import nhnad.soeun_chat.domain.chat.service.AthenaService;
 import nhnad.soeun_chat.domain.chat.service.BedrockService;
+import nhnad.soeun_chat.domain.chat.service.PromptDateMapping;
 import nhnad.soeun_chat.domain.conversation.service.ConversationService;
 import nhnad.soeun_chat.domain.report.dto.ExcelExportResponse;
 import nhnad.soeun_chat.domain.report.dto.ReportDocument;
@@ -14,11 +16,13 @@ import nhnad.soeun_chat.domain.report.dto.ReportRequest;
 import nhnad.soeun_chat.domain.report.dto.ReportResponse;
 import nhnad.soeun_chat.domain.report.dto.ReportSummary;
 import nhnad.soeun_chat.domain.share.service.ShareService;
+import nhnad.soeun_chat.global.athena.AthenaResult;
+import nhnad.soeun_chat.global.athena.AthenaWorkload;
 import nhnad.soeun_chat.global.error.ErrorCode;
+import nhnad.soeun_chat.global.exception.BusinessException;
 import nhnad.soeun_chat.global.exception.InternalServerException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
@@ -32,8 +36,10 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Service
@@ -56,6 +62,8 @@ public class ReportService {
     private final S3Client s3Client;
     private final LambdaClient lambdaClient;
     private final ObjectMapper objectMapper;
+    private final AthenaService athenaService;
+    private final PromptDateMapping promptDateMapping;
 
     public ReportResponse generateReport(String userId, ReportRequest request) {
         LocalDate now = LocalDate.now();
@@ -65,11 +73,11 @@ public class ReportService {
 
         log.info("자동 리포트 생성 시작 - conversationId: {}, userId: {}, reportType: {}", conversationId, userId, request.reportType());
 
-        // 1. Bedrock Agentic Loop 실행 (SSE 없이 동기 처리)
-        String userMessage = buildPrompt(request.reportType());
-        SseEmitter dummyEmitter = new SseEmitter(0L);
-        BedrockService.AgenticLoopResult loopResult =
-                bedrockService.runAgenticLoop(dummyEmitter, userMessage, List.of(), true);
+        // 1. 고정 쿼리를 동시에 실행한 뒤, 결과를 넘겨 Bedrock 한 번으로 본문 작성
+        // 기간 표기와 쿼리 4개가 같은 적재 기간을 쓰도록 한 번만 읽는다
+        PromptDateMapping.Snapshot dates = promptDateMapping.snapshot();
+        String userMessage = buildPrompt(request.reportType(), dates.week());
+        BedrockService.AgenticLoopResult loopResult = runReportQueries(userId, userMessage, dates);
 
         // 2. S3에 리포트 전체 내용 저장
         String s3Key = "reports/report_" + today + "_" + userId + ".json";
@@ -87,6 +95,43 @@ public class ReportService {
         return new ReportResponse(shareToken, conversationId);
     }
 
+    /**
+     * 차트 타입은 쿼리 순서대로 고정 (pie, line, bar, table). 실패한 쿼리는 차트 없이 본문 입력에만 실패로 표시한다.
+     */
+    private BedrockService.AgenticLoopResult runReportQueries(String userId, String userMessage,
+                                                              PromptDateMapping.Snapshot dates) {
+        // 리포트 배치는 대화형 요청보다 낮은 레인에서 Athena 슬롯을 받는다
+        AthenaWorkload workload = AthenaWorkload.report(userId);
+        List<CompletableFuture<AthenaResult>> executions = ReportQuery.WEEKLY.stream()
+                .map(query -> athenaService.executeQueryAsync(dates.render(query.sql()), workload))
+                .toList();
+
+        List<BedrockService.ChartData> charts = new ArrayList<>();
+        StringBuilder queryResults = new StringBuilder();
+        String lastJson = null;
+        String lastChartType = null;
+        for (int i = 0; i < ReportQuery.WEEKLY.size(); i++) {
+            ReportQuery query = ReportQuery.WEEKLY.get(i);
+            queryResults.append("### ").append(i + 1).append(". ").append(query.title()).append('\n');
+            try {
+                AthenaResult result = athenaService.await(executions.get(i));
+                charts.add(new BedrockService.ChartData(query.chartType(), result.json()));
+                lastJson = result.json();
+                lastChartType = query.chartType();
+                queryResults.append(result.text()).append("\n\n");
+            } catch (BusinessException e) {
+                log.error("리포트 쿼리 실패 - {}: {}", query.title(), e.getMessage());
+                queryResults.append("(조회 실패)\n\n");
+            }
+        }
+        if (charts.isEmpty()) {
+            throw new InternalServerException(ErrorCode.ATHENA_QUERY_FAILED);
+        }
+
+        String answer = bedrockService.writeReport(userMessage, queryResults.toString());
+        return new BedrockService.AgenticLoopResult(answer, lastJson, lastChartType, charts);
+    }
+
     private void saveReportToS3(String s3Key, String conversationId, String userId,
                                 String title, String userMessage,
                                 BedrockService.AgenticLoopResult loopResult) {
@@ -144,7 +189,13 @@ public class ReportService {
                 date.getYear(), date.getMonthValue(), weekOfMonth);
     }
 
-    private String buildPrompt(String reportType) {
+    // 리포트 기간은 적재된 최근 7일 (파티션 목록이 없으면 어제까지)
+    /**
+     * 기간 표기는 리포트 쿼리와 같은 기간 (적재 시작 직후라 7일이 안 되면 실제 일수로 표기)
+     */
+    private String buildPrompt(String reportType, PromptDateMapping.Week week) {
+        String range = week.from() + "~" + week.to().format(DateTimeFormatter.ofPattern("MM-dd"));
+        String period = week.days() == 7 ? "지난 한 주(" + range + ")" : "최근 " + week.days() + "일(" + range + ")";
         return """
                 [ABSOLUTE RULE - NEVER VIOLATE]
                 1. 섹션 제목(##, ###)에 이모지 절대 사용 금지
@@ -153,7 +204,7 @@ public class ReportService {
                 4. 소제목은 ### 없이 "구글 광고", "카카오 광고" 같은 텍스트만 사용
                 5. 텍스트 어디에도 이모지(Unicode emoji) 문자를 출력하지 마세요.
 
-                지난 한 주(2026-02-01~02-07) 구글과 카카오 광고 전체 성과를 분석해줘.
+                %s 구글과 카카오 광고 전체 성과를 분석해줘.
                 캠페인별 주요 지표, 매체 비교, 개선 제안을 포함해줘.
 
                 응답은 반드시 아래 3개 섹션을 ## 헤더로 구분해서 작성하세요.
@@ -167,7 +218,7 @@ public class ReportService {
 
                 ## 개선 제안
                 (구체적인 액션 아이템을 bullet point로)
-                """;
+                """.formatted(period);
     }
 
     public ExcelExportResponse exportExcel(String conversationId) {
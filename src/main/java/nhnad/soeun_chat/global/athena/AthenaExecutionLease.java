@@ -0,0 +1,111 @@
+package nhnad.soeun_chat.global.athena;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 노드 간 동일 쿼리 중복 실행 방지용 Redis lease
+ * key: fingerprint, value: 실행 중인 queryExecutionId
+ * 먼저 등록한 노드의 실행에 다른 노드가 붙어서(attach) 같은 결과를 읽는다.
+ * 붙은 노드 수는 athena:attached:queryExecutionId 카운터로 센다 (실행 노드가 쿼리를 중단해도 되는지 판단).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AthenaExecutionLease {
+
+    private static final String KEY_PREFIX = "athena:inflight:";
+    private static final String ATTACHED_PREFIX = "athena:attached:";
+
+    // 실행 노드가 죽어도 lease가 남지 않도록 하는 상한
+    @Value("${aws.athena.lease.ttl-seconds:600}")
+    private long leaseTtlSeconds;
+
+    // 완료 후에도 잠시 남겨 두어 늦게 온 요청이 같은 결과를 재사용 (0이면 즉시 삭제)
+    @Value("${aws.athena.lease.completed-reuse-seconds:30}")
+    private long completedReuseSeconds;
+
+    private final StringRedisTemplate redisTemplate;
+
+    public Optional<String> current(SqlFingerprint fingerprint) {
+        try {
+            return Optional.ofNullable(redisTemplate.opsForValue().get(KEY_PREFIX + fingerprint.hash()));
+        } catch (Exception e) {
+            log.warn("Athena lease 조회 실패: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return 등록 성공 시 empty, 다른 노드가 먼저 등록했으면 그 queryExecutionId
+     */
+    public Optional<String> acquire(SqlFingerprint fingerprint, String queryExecutionId) {
+        String key = KEY_PREFIX + fingerprint.hash();
+        try {
+            Boolean acquired = redisTemplate.opsForValue()
+                    .setIfAbsent(key, queryExecutionId, Duration.ofSeconds(leaseTtlSeconds));
+            if (Boolean.TRUE.equals(acquired)) return Optional.empty();
+
+            String owner = redisTemplate.opsForValue().get(key);
+            return owner == null || owner.equals(queryExecutionId) ? Optional.empty() : Optional.of(owner);
+        } catch (Exception e) {
+            // Redis 장애 시에는 노드 간 중복 제거만 포기하고 그대로 실행
+            log.warn("Athena lease 등록 실패: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 다른 노드의 실행에 붙을 때 호출 (기다림이 끝나면 detach)
+     */
+    public void attach(String queryExecutionId) {
+        String key = ATTACHED_PREFIX + queryExecutionId;
+        try {
+            redisTemplate.opsForValue().increment(key);
+            redisTemplate.expire(key, Duration.ofSeconds(leaseTtlSeconds));
+        } catch (Exception e) {
+            log.warn("Athena 실행 합류 기록 실패: {}", e.getMessage());
+        }
+    }
+
+    public void detach(String queryExecutionId) {
+        try {
+            redisTemplate.opsForValue().decrement(ATTACHED_PREFIX + queryExecutionId);
+        } catch (Exception e) {
+            log.warn("Athena 실행 합류 해제 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 이 실행을 기다리는 다른 노드 수, 조회에 실패하면 0 (중단된 실행에 붙은 노드는 스스로 다시 실행한다)
+     */
+    public long attachments(String queryExecutionId) {
+        try {
+            String value = redisTemplate.opsForValue().get(ATTACHED_PREFIX + queryExecutionId);
+            return value != null ? Math.max(0, Long.parseLong(value)) : 0;
+        } catch (Exception e) {
+            log.warn("Athena 실행 합류 수 조회 실패: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    public void complete(SqlFingerprint fingerprint, String queryExecutionId, boolean succeeded) {
+        String key = KEY_PREFIX + fingerprint.hash();
+        try {
+            if (!queryExecutionId.equals(redisTemplate.opsForValue().get(key))) return;
+            if (succeeded && completedReuseSeconds > 0) {
+                redisTemplate.expire(key, Duration.ofSeconds(completedReuseSeconds));
+            } else {
+                redisTemplate.delete(key);
+            }
+        } catch (Exception e) {
+            log.warn("Athena lease 해제 실패: {}", e.getMessage());
+        }
+    }
+}
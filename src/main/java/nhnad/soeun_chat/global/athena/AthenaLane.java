@@ -0,0 +1,10 @@
+package nhnad.soeun_chat.global.athena;
+
+/**
+ * Athena 실행 우선순위 레인 (선언 순서 = 우선순위)
+ */
+public enum AthenaLane {
+    CHAT,
+    DASHBOARD,
+    REPORT
+}
@@ -0,0 +1,126 @@
+package nhnad.soeun_chat.global.athena;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 광고 성과 테이블의 적재된 파티션(year/month_p/day) 목록
+ * 데이터를 스캔하지 않는 "$partitions" 메타데이터 테이블로 조회하고 주기적으로 갱신한다.
+ * 대시보드 기준일, 리포트 기간, 채팅 프롬프트의 날짜 매핑이 모두 이 값을 쓴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AthenaPartitionCatalog {
+
+    private static final String DATABASE = "se_report_db";
+    private static final List<String> TABLES = List.of("google_ad_performance", "kakao_ad_performance");
+
+    @Value("${aws.athena.partitions.load-timeout-ms:30000}")
+    private long loadTimeoutMillis;
+
+    private final AthenaQueryEngine athenaQueryEngine;
+
+    // 테이블명 → 적재된 날짜
+    private final Map<String, NavigableSet<LocalDate>> partitions = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    /**
+     * 적재된 기간 (모든 테이블 통틀어 가장 이른 날 ~ 가장 늦은 날)
+     */
+    public record DataRange(LocalDate earliest, LocalDate latest) {}
+
+    /**
+     * 가장 최근에 적재된 날짜, 아직 한 번도 조회하지 못했으면 조회를 기다린다
+     */
+    public Optional<LocalDate> latestDate() {
+        return dataRange().map(DataRange::latest);
+    }
+
+    public Optional<DataRange> dataRange() {
+        ensureLoaded();
+        LocalDate earliest = null;
+        LocalDate latest = null;
+        for (NavigableSet<LocalDate> dates : partitions.values()) {
+            if (dates.isEmpty()) continue;
+            if (earliest == null || dates.first().isBefore(earliest)) earliest = dates.first();
+            if (latest == null || dates.last().isAfter(latest)) latest = dates.last();
+        }
+        return latest == null ? Optional.empty() : Optional.of(new DataRange(earliest, latest));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        load();
+    }
+
+    @Scheduled(fixedDelayString = "${aws.athena.partitions.refresh-interval-ms:600000}",
+            initialDelayString = "${aws.athena.partitions.refresh-interval-ms:600000}")
+    public void refresh() {
+        load();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        try {
+            load().get(loadTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("파티션 목록 조회 대기 실패: {}", e.getMessage());
+        }
+    }
+
+    private CompletableFuture<Void> load() {
+        List<CompletableFuture<Void>> tables = new ArrayList<>();
+        for (String table : TABLES) {
+            String sql = "SELECT year, month_p, day FROM \"" + DATABASE + "\".\"" + table + "$partitions\"";
+            tables.add(athenaQueryEngine.execute(sql, AthenaWorkload.dashboard())
+                    .thenAccept(result -> {
+                        NavigableSet<LocalDate> dates = toDates(result);
+                        partitions.put(table, dates);
+                        log.info("파티션 목록 갱신 - {}: {}건 (최근 {})", table, dates.size(),
+                                dates.isEmpty() ? "-" : dates.last());
+                    })
+                    .exceptionally(e -> {
+                        // 실패하면 이전 목록을 그대로 쓴다
+                        log.error("파티션 목록 조회 실패 - {}: {}", table, e.getMessage());
+                        return null;
+                    }));
+        }
+        return CompletableFuture.allOf(tables.toArray(CompletableFuture[]::new))
+                .thenRun(() -> loaded = !partitions.isEmpty());
+    }
+
+    private static NavigableSet<LocalDate> toDates(AthenaResult result) {
+        NavigableSet<LocalDate> dates = new TreeSet<>();
+        for (int r = 0; r < result.rowCount(); r++) {
+            try {
+                dates.add(LocalDate.of(Integer.parseInt(result.getString(r, 0)),
+                        Integer.parseInt(result.getString(r, 1)),
+                        Integer.parseInt(result.getString(r, 2))));
+            } catch (NumberFormatException | DateTimeException e) {
+                log.warn("파티션 값 해석 실패 - year={}, month_p={}, day={}",
+                        result.getString(r, 0), result.getString(r, 1), result.getString(r, 2));
+            }
+        }
+        return dates;
+    }
+}
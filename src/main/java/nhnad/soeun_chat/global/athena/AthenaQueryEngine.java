@@ -0,0 +1,468 @@
+package nhnad.soeun_chat.global.athena;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import nhnad.soeun_chat.global.error.ErrorCode;
+import nhnad.soeun_chat.global.exception.InternalServerException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.athena.AthenaAsyncClient;
+import software.amazon.awssdk.services.athena.model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 비동기 Athena 실행 엔진 (채팅/대시보드 공용)
+ * 완료 대기는 스레드를 점유하지 않고 poll 스케줄러에서 예약 실행된다.
+ * 같은 fingerprint의 쿼리는 노드 안(inFlight)과 노드 간(Redis lease)에서 하나의 실행을 공유한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AthenaQueryEngine {
+
+    // 관측값이 없을 때의 예상 소요시간
+    private static final long INITIAL_EXPECTED_MILLIS = 1_500;
+    // 최근 소요시간 EWMA 가중치
+    private static final double EWMA_ALPHA = 0.2;
+    // AthenaError.errorCategory: 1 = SYSTEM, 2 = USER, 3 = OTHER
+    private static final int USER_ERROR_CATEGORY = 2;
+
+    @Value("${aws.athena.database}")
+    private String database;
+
+    @Value("${aws.athena.output-location}")
+    private String outputLocation;
+
+    @Value("${aws.athena.poll.min-delay-ms:50}")
+    private long minPollDelayMillis;
+
+    @Value("${aws.athena.poll.max-delay-ms:2000}")
+    private long maxPollDelayMillis;
+
+    @Value("${aws.athena.result.model-max-rows:300}")
+    private int modelMaxRows;
+
+    @Value("${aws.athena.result.model-max-bytes:65536}")
+    private long modelMaxBytes;
+
+    @Value("${aws.athena.result.chart-max-rows:5000}")
+    private int chartMaxRows;
+
+    // 차트 JSON은 DynamoDB 메시지 항목(최대 400KB)에 함께 저장되므로 그 아래로 유지
+    @Value("${aws.athena.result.chart-max-bytes:307200}")
+    private long chartMaxBytes;
+
+    // 첫 페이지 이후에도 결과가 남아 있고 결과 파일이 이 크기 이상이면 S3에서 직접 읽는다
+    @Value("${aws.athena.result.s3-read-enabled:true}")
+    private boolean s3ReadEnabled;
+
+    @Value("${aws.athena.result.s3-read-threshold-bytes:262144}")
+    private long s3ReadThresholdBytes;
+
+    private final AthenaAsyncClient athenaAsyncClient;
+    private final AthenaResultReader athenaResultReader;
+    private final AthenaS3ResultReader athenaS3ResultReader;
+    private final AthenaExecutionLease athenaExecutionLease;
+    private final AthenaWorkloadScheduler athenaWorkloadScheduler;
+    private final AthenaQueryStatistics athenaQueryStatistics;
+
+    private final ConcurrentHashMap<String, SharedExecution> inFlight = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService pollScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "athena-poll");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicLong expectedDurationMillis = new AtomicLong(INITIAL_EXPECTED_MILLIS);
+
+    /**
+     * 반환된 future를 cancel하면 이 호출자만 빠진다.
+     * 같은 실행을 기다리는 호출자가 모두 빠지면 직접 시작한 쿼리는 StopQueryExecution으로 중단한다
+     * (다른 노드가 그 실행에 붙어 기다리는 중이면 중단하지 않는다).
+     * 새로 시작하는 쿼리만 workload 레인의 슬롯을 쓰고, 진행 중인 실행에 합류하는 호출자는 슬롯을 쓰지 않는다.
+     */
+    public CompletableFuture<AthenaResult> execute(String sql, AthenaWorkload workload) {
+        SqlFingerprint fingerprint = SqlFingerprint.of(sql);
+        while (true) {
+            SharedExecution created = new SharedExecution(workload);
+            SharedExecution running = inFlight.putIfAbsent(fingerprint.hash(), created);
+            if (running == null) {
+                created.join();
+                executeShared(sql, fingerprint, created).whenComplete((result, error) -> {
+                    inFlight.remove(fingerprint.hash(), created);
+                    if (error != null) {
+                        created.result.completeExceptionally(error);
+                    } else {
+                        created.result.complete(result);
+                    }
+                });
+                return subscribe(fingerprint, created);
+            }
+            if (running.join()) {
+                log.debug("진행 중인 동일 쿼리에 합류 - {}", fingerprint.hash());
+                running.promote(workload.lane());
+                return subscribe(fingerprint, running);
+            }
+            // 모든 호출자가 취소해 중단 중인 실행이면 새로 시작
+            inFlight.remove(fingerprint.hash(), running);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pollScheduler.shutdownNow();
+    }
+
+    // 호출자 한 명의 cancel이 공유 중인 실행으로 바로 전파되지 않도록 사본을 반환
+    private CompletableFuture<AthenaResult> subscribe(SqlFingerprint fingerprint, SharedExecution shared) {
+        CompletableFuture<AthenaResult> subscription = shared.result.copy();
+        subscription.whenComplete((result, error) -> {
+            if (subscription.isCancelled() && shared.leave()) {
+                abandon(fingerprint, shared);
+            }
+        });
+        return subscription;
+    }
+
+    private void abandon(SqlFingerprint fingerprint, SharedExecution shared) {
+        inFlight.remove(fingerprint.hash(), shared);
+        shared.cancelPending();
+        String owned = shared.ownedQueryExecutionId();
+        if (owned != null) {
+            if (athenaExecutionLease.attachments(owned) > 0) {
+                // lease는 그대로 두어 붙은 노드가 끝까지 결과를 받게 한다 (lease는 TTL로 정리)
+                log.info("다른 노드가 기다리는 중이라 Athena 쿼리 유지 - queryExecutionId: {}", owned);
+            } else {
+                // 새로 오는 호출자가 중단될 실행에 붙지 않도록 lease부터 지운다
+                athenaExecutionLease.complete(fingerprint, owned, false);
+                log.info("대기 중인 호출자가 없어 Athena 쿼리 중단 - queryExecutionId: {}", owned);
+                stopQuery(owned);
+            }
+        }
+        shared.result.cancel(false);
+    }
+
+    private CompletableFuture<AthenaResult> executeShared(String sql, SqlFingerprint fingerprint, SharedExecution shared) {
+        Optional<String> owner = athenaExecutionLease.current(fingerprint);
+        if (owner.isEmpty()) return run(sql, fingerprint, shared);
+
+        log.debug("다른 노드의 동일 쿼리에 합류 - queryExecutionId: {}", owner.get());
+        return attach(owner.get(), shared)
+                .exceptionallyCompose(e -> {
+                    if (!isStaleExecution(e) || shared.isAbandoned()) return CompletableFuture.failedFuture(e);
+                    log.info("합류한 실행을 쓸 수 없어 직접 다시 실행 - queryExecutionId: {}", owner.get());
+                    // 남은 lease가 다시 실행한 쿼리의 등록을 막지 않도록 먼저 지운다
+                    athenaExecutionLease.complete(fingerprint, owner.get(), false);
+                    return run(sql, fingerprint, shared);
+                });
+    }
+
+    // 슬롯은 쿼리가 끝날 때(SUCCEEDED/FAILED)까지 점유하고, 결과 읽기는 슬롯 밖에서 한다
+    private CompletableFuture<AthenaResult> run(String sql, SqlFingerprint fingerprint, SharedExecution shared) {
+        AthenaWorkloadScheduler.Ticket<QueryExecution> ticket =
+                athenaWorkloadScheduler.submit(shared.workload, () -> startAndAwait(sql, fingerprint, shared));
+        shared.scheduled(ticket);
+        return ticket.result().thenCompose(this::fetchResults);
+    }
+
+    private CompletableFuture<QueryExecution> startAndAwait(String sql, SqlFingerprint fingerprint, SharedExecution shared) {
+        long startedAt = System.nanoTime();
+        return startQuery(sql).thenCompose(queryExecutionId -> {
+            Optional<String> winner = athenaExecutionLease.acquire(fingerprint, queryExecutionId);
+            if (winner.isPresent()) {
+                // 거의 동시에 다른 노드가 먼저 등록했다면 내 실행은 취소하고 그쪽에 합류
+                log.debug("동일 쿼리 경합 - {} 취소 후 {}에 합류", queryExecutionId, winner.get());
+                stopQuery(queryExecutionId);
+                return awaitAttached(winner.get(), shared)
+                        .exceptionallyCompose(e -> {
+                            if (!isStaleExecution(e) || shared.isAbandoned()) return CompletableFuture.failedFuture(e);
+                            athenaExecutionLease.complete(fingerprint, winner.get(), false);
+                            return startAndAwait(sql, fingerprint, shared);
+                        });
+            }
+            if (!shared.own(queryExecutionId)) {
+                // 시작 요청 중에 호출자가 모두 빠졌다
+                stopQuery(queryExecutionId);
+                athenaExecutionLease.complete(fingerprint, queryExecutionId, false);
+                return CompletableFuture.failedFuture(new CancellationException());
+            }
+            return awaitCompletion(queryExecutionId, startedAt, true, shared)
+                    .whenComplete((execution, error) -> {
+                        athenaExecutionLease.complete(fingerprint, queryExecutionId, error == null);
+                        // 실패한 실행도 스캔량만큼 과금되므로 통계에 넣는다
+                        QueryExecution finished = execution != null ? execution
+                                : unwrap(error) instanceof FailedExecutionException failed ? failed.execution : null;
+                        if (finished != null) athenaQueryStatistics.record(fingerprint, shared.workload, finished);
+                    });
+        });
+    }
+
+    private CompletableFuture<AthenaResult> attach(String queryExecutionId, SharedExecution shared) {
+        return awaitAttached(queryExecutionId, shared).thenCompose(this::fetchResults);
+    }
+
+    // 다른 노드의 실행을 기다리는 동안 합류 수에 포함된다 (그 노드가 쿼리를 중단하지 않도록)
+    private CompletableFuture<QueryExecution> awaitAttached(String queryExecutionId, SharedExecution shared) {
+        athenaExecutionLease.attach(queryExecutionId);
+        return awaitCompletion(queryExecutionId, System.nanoTime(), false, shared)
+                .whenComplete((execution, error) -> athenaExecutionLease.detach(queryExecutionId));
+    }
+
+    private void stopQuery(String queryExecutionId) {
+        athenaAsyncClient.stopQueryExecution(StopQueryExecutionRequest.builder()
+                        .queryExecutionId(queryExecutionId)
+                        .build())
+                .whenComplete((response, error) -> {
+                    if (error != null) log.warn("Athena 쿼리 취소 실패 - {}: {}", queryExecutionId, error.getMessage());
+                });
+    }
+
+    /**
+     * 합류한 실행의 결과를 쓸 수 없어 직접 다시 실행해야 하는 경우
+     * - lease에 남은 queryExecutionId가 조회되지 않음 (만료/잘못된 값)
+     * - 실행 노드가 중단했거나(CANCELLED) Athena 쪽 문제로 실패함 (SQL 오류가 아닌 FAILED, 만료된 lease의 실행 포함)
+     */
+    private static boolean isStaleExecution(Throwable error) {
+        Throwable cause = unwrap(error);
+        return cause instanceof AthenaException || cause instanceof StaleExecutionException;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    // 직접 시작한 실행이 FAILED/CANCELLED로 끝남 (통계 기록용으로 실행 정보를 함께 전달)
+    private static final class FailedExecutionException extends InternalServerException {
+        final QueryExecution execution;
+
+        FailedExecutionException(QueryExecution execution) {
+            super(ErrorCode.ATHENA_QUERY_FAILED);
+            this.execution = execution;
+        }
+    }
+
+    private static final class StaleExecutionException extends RuntimeException {
+        StaleExecutionException(String queryExecutionId, QueryExecutionState state) {
+            super("합류한 실행 사용 불가 - " + queryExecutionId + " (" + state + ")");
+        }
+    }
+
+    private CompletableFuture<String> startQuery(String sql) {
+        return athenaAsyncClient.startQueryExecution(StartQueryExecutionRequest.builder()
+                        .queryString(sql)
+                        .queryExecutionContext(QueryExecutionContext.builder()
+                                .database(database)
+                                .build())
+                        .resultConfiguration(ResultConfiguration.builder()
+                                .outputLocation(outputLocation)
+                                .build())
+                        .build())
+                .thenApply(StartQueryExecutionResponse::queryExecutionId);
+    }
+
+    /**
+     * @param owned 직접 시작한 실행인지 (합류한 실행은 경과 시간이 실제 소요시간이 아니므로 EWMA에 반영하지 않음)
+     */
+    private CompletableFuture<QueryExecution> awaitCompletion(String queryExecutionId, long startedAt, boolean owned,
+                                                             SharedExecution shared) {
+        CompletableFuture<QueryExecution> completion = new CompletableFuture<>();
+        shared.track(completion);
+        // 첫 poll은 평소 소요시간의 절반 지점에서 시작
+        schedulePoll(queryExecutionId, startedAt, owned, completion, clamp(expectedDurationMillis.get() / 2));
+        return completion;
+    }
+
+    private void schedulePoll(String queryExecutionId, long startedAt, boolean owned,
+                              CompletableFuture<QueryExecution> completion, long delayMillis) {
+        pollScheduler.schedule(() -> poll(queryExecutionId, startedAt, owned, completion), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void poll(String queryExecutionId, long startedAt, boolean owned, CompletableFuture<QueryExecution> completion) {
+        // 모든 호출자가 빠져 대기가 취소된 경우
+        if (completion.isDone()) return;
+
+        athenaAsyncClient.getQueryExecution(GetQueryExecutionRequest.builder()
+                        .queryExecutionId(queryExecutionId)
+                        .build())
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        completion.completeExceptionally(error);
+                        return;
+                    }
+
+                    QueryExecutionStatus status = response.queryExecution().status();
+                    QueryExecutionState state = status.state();
+                    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+                    log.debug("Athena 쿼리 상태: {} ({}ms)", state, elapsedMillis);
+
+                    if (state == QueryExecutionState.SUCCEEDED) {
+                        if (owned) recordDuration(elapsedMillis);
+                        completion.complete(response.queryExecution());
+                    } else if (!owned && isStaleState(status)) {
+                        completion.completeExceptionally(new StaleExecutionException(queryExecutionId, state));
+                    } else if (state == QueryExecutionState.FAILED || state == QueryExecutionState.CANCELLED) {
+                        log.error("Athena 쿼리 실패 - 원인: {}", status.stateChangeReason());
+                        completion.completeExceptionally(owned
+                                ? new FailedExecutionException(response.queryExecution())
+                                : new InternalServerException(ErrorCode.ATHENA_QUERY_FAILED));
+                    } else {
+                        schedulePoll(queryExecutionId, startedAt, owned, completion, nextPollDelay(elapsedMillis));
+                    }
+                });
+    }
+
+    // 합류한 실행이 중단됐거나, SQL 자체가 아닌 이유(SYSTEM/OTHER 오류)로 실패했다
+    private static boolean isStaleState(QueryExecutionStatus status) {
+        if (status.state() == QueryExecutionState.CANCELLED) return true;
+        if (status.state() != QueryExecutionState.FAILED) return false;
+        AthenaError athenaError = status.athenaError();
+        return athenaError == null || athenaError.errorCategory() == null || athenaError.errorCategory() != USER_ERROR_CATEGORY;
+    }
+
+    private CompletableFuture<AthenaResult> fetchResults(QueryExecution execution) {
+        String queryExecutionId = execution.queryExecutionId();
+        AthenaResult.Builder builder = AthenaResult.builder(queryExecutionId,
+                new AthenaResultLimits(modelMaxRows, modelMaxBytes, chartMaxRows, chartMaxBytes));
+        // 첫 페이지는 컬럼 타입(ResultSetMetadata)이 필요하므로 항상 API로 읽는다
+        return athenaResultReader.readPage(queryExecutionId, null, builder)
+                .thenCompose(nextToken -> nextToken == null
+                        ? CompletableFuture.<Void>completedFuture(null)
+                        : readRemainder(execution, nextToken, builder))
+                .thenApply(ignored -> {
+                    AthenaResult result = builder.build();
+                    log.info("Athena 쿼리 결과: {}건{}", result.rowCount(), result.truncated() ? " (상한 도달)" : "");
+                    return result;
+                });
+    }
+
+    /**
+     * 두 번째 페이지부터: 결과 파일이 크면 S3 CSV 직접 읽기, 작으면 GetQueryResults 페이지 계속 읽기
+     */
+    private CompletableFuture<Void> readRemainder(QueryExecution execution, String nextToken, AthenaResult.Builder builder) {
+        String queryExecutionId = execution.queryExecutionId();
+        String resultLocation = execution.resultConfiguration() != null
+                ? execution.resultConfiguration().outputLocation()
+                : null;
+        // SELECT 결과만 CSV (DDL/SHOW 결과는 .txt)
+        if (!s3ReadEnabled || resultLocation == null || !resultLocation.endsWith(".csv")) {
+            return athenaResultReader.read(queryExecutionId, nextToken, builder);
+        }
+
+        return athenaS3ResultReader.size(resultLocation)
+                .exceptionally(e -> {
+                    log.warn("Athena 결과 파일 크기 조회 실패, API로 계속 읽음 - {}: {}", resultLocation, e.getMessage());
+                    return 0L;
+                })
+                .thenCompose(size -> {
+                    if (size < s3ReadThresholdBytes) {
+                        return athenaResultReader.read(queryExecutionId, nextToken, builder);
+                    }
+                    log.debug("Athena 결과 S3 직접 읽기 - {} ({} bytes)", resultLocation, size);
+                    // 헤더 1행 + 첫 페이지에서 이미 받은 행은 건너뛴다
+                    return athenaS3ResultReader.read(resultLocation, 1L + builder.rowCount(), builder::append);
+                });
+    }
+
+    /**
+     * 초반에는 촘촘하게, 경과 시간이 길어질수록 간격을 넓힌다 (경과 시간의 1/4)
+     */
+    private long nextPollDelay(long elapsedMillis) {
+        return clamp(elapsedMillis / 4);
+    }
+
+    private void recordDuration(long elapsedMillis) {
+        expectedDurationMillis.updateAndGet(prev -> Math.round(prev * (1 - EWMA_ALPHA) + elapsedMillis * EWMA_ALPHA));
+    }
+
+    private long clamp(long delayMillis) {
+        return Math.max(minPollDelayMillis, Math.min(maxPollDelayMillis, delayMillis));
+    }
+
+    /**
+     * 같은 fingerprint를 기다리는 호출자들이 공유하는 실행 1건
+     */
+    private static final class SharedExecution {
+
+        final CompletableFuture<AthenaResult> result = new CompletableFuture<>();
+        final AthenaWorkload workload;  // 처음 요청한 호출자 기준
+
+        private int subscribers;
+        private boolean abandoned;
+        private String ownedQueryExecutionId;
+        private volatile AthenaWorkloadScheduler.Ticket<?> ticket;
+        private final List<CompletableFuture<?>> pending = new ArrayList<>();
+
+        SharedExecution(AthenaWorkload workload) {
+            this.workload = workload;
+        }
+
+        synchronized boolean join() {
+            if (abandoned) return false;
+            subscribers++;
+            return true;
+        }
+
+        /**
+         * @return 마지막 호출자가 빠져 실행을 중단해야 하면 true
+         */
+        synchronized boolean leave() {
+            if (--subscribers > 0 || result.isDone() || abandoned) return false;
+            abandoned = true;
+            return true;
+        }
+
+        synchronized boolean isAbandoned() {
+            return abandoned;
+        }
+
+        // 직접 시작한 실행 등록, 이미 버려졌으면 false
+        synchronized boolean own(String queryExecutionId) {
+            if (abandoned) return false;
+            ownedQueryExecutionId = queryExecutionId;
+            return true;
+        }
+
+        synchronized String ownedQueryExecutionId() {
+            return ownedQueryExecutionId;
+        }
+
+        void scheduled(AthenaWorkloadScheduler.Ticket<?> ticket) {
+            this.ticket = ticket;
+            track(ticket.result());
+        }
+
+        // 슬롯 대기 중인 실행에 더 급한 호출자가 합류하면 대기 레인을 올린다
+        void promote(AthenaLane lane) {
+            AthenaWorkloadScheduler.Ticket<?> scheduled = ticket;
+            if (scheduled != null) scheduled.promote(lane);
+        }
+
+        // 모든 호출자가 빠지면 함께 취소할 대기 작업 (슬롯 대기, poll)
+        synchronized void track(CompletableFuture<?> future) {
+            if (abandoned) {
+                future.cancel(false);
+                return;
+            }
+            pending.removeIf(CompletableFuture::isDone);
+            pending.add(future);
+        }
+
+        synchronized void cancelPending() {
+            pending.forEach(future -> future.cancel(false));
+            pending.clear();
+        }
+    }
+}
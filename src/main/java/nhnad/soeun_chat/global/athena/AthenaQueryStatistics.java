@@ -0,0 +1,180 @@
+package nhnad.soeun_chat.global.athena;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.athena.model.QueryExecution;
+import software.amazon.awssdk.services.athena.model.QueryExecutionState;
+import software.amazon.awssdk.services.athena.model.QueryExecutionStatistics;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Athena 실행 1건의 비용/지연 통계(QueryExecutionStatistics) 수집
+ * - Micrometer: 호출 레인(caller)과 테이블로 태그한 스캔량/단계별 소요시간 히스토그램
+ *   table 태그는 google_ad_performance, kakao_ad_performance, multi, other 중 하나 (모델이 지은 CTE 이름 등으로 늘어나지 않게)
+ * - fingerprint별 누적값: 스캔량이 큰 쿼리 상위 N개를 내부 API로 조회해 프롬프트/캐시 튜닝에 사용
+ * 직접 시작한 실행만 기록한다 (합류한 호출자까지 기록하면 비용이 중복 집계됨)
+ * 실패/취소된 실행도 스캔한 만큼 과금되므로 함께 기록하고 athena.query.failed로도 센다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AthenaQueryStatistics {
+
+    private static final long BYTES_PER_TB = 1L << 40;
+    // Athena는 쿼리당 최소 10MB를 과금한다
+    private static final long MIN_BILLED_BYTES = 10L * 1024 * 1024;
+    private static final int SAMPLE_SQL_MAX_LENGTH = 2_000;
+    private static final Set<String> TAGGED_TABLES = Set.of("google_ad_performance", "kakao_ad_performance");
+
+    @Value("${aws.athena.stats.price-per-tb-usd:5.0}")
+    private double pricePerTbUsd;
+
+    // 누적 대상 fingerprint 상한, 넘치면 누적 스캔량이 가장 작은 항목부터 버린다
+    @Value("${aws.athena.stats.max-fingerprints:1000}")
+    private int maxFingerprints;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Aggregate> aggregates = new ConcurrentHashMap<>();
+
+    public record FingerprintStats(String hash, String normalizedSql, Set<String> tables, String lastCaller,
+                                   long executions, long totalScannedBytes, long maxScannedBytes,
+                                   long totalEngineMillis, double estimatedCostUsd, Instant lastExecutedAt) {}
+
+    public void record(SqlFingerprint fingerprint, AthenaWorkload workload, QueryExecution execution) {
+        QueryExecutionStatistics stats = execution.statistics();
+        if (stats == null) return;
+
+        long scanned = valueOf(stats.dataScannedInBytes());
+        long engine = valueOf(stats.engineExecutionTimeInMillis());
+        long queue = valueOf(stats.queryQueueTimeInMillis());
+        long planning = valueOf(stats.queryPlanningTimeInMillis());
+        long service = valueOf(stats.serviceProcessingTimeInMillis());
+
+        String caller = workload.lane().name().toLowerCase();
+        Set<String> tables = fingerprint.tables();
+        String table = tableTag(tables);
+        boolean failed = execution.status() != null && execution.status().state() != QueryExecutionState.SUCCEEDED;
+        if (failed) {
+            Counter.builder("athena.query.failed")
+                    .tags("caller", caller, "table", table)
+                    .register(meterRegistry)
+                    .increment();
+        }
+
+        DistributionSummary.builder("athena.query.data.scanned")
+                .baseUnit("bytes")
+                .tags("caller", caller, "table", table)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(scanned);
+        timer("athena.query.engine.time", caller, table).record(engine, TimeUnit.MILLISECONDS);
+        timer("athena.query.queue.time", caller, table).record(queue, TimeUnit.MILLISECONDS);
+        timer("athena.query.planning.time", caller, table).record(planning, TimeUnit.MILLISECONDS);
+        timer("athena.query.service.time", caller, table).record(service, TimeUnit.MILLISECONDS);
+
+        aggregates.computeIfAbsent(fingerprint.hash(), hash -> new Aggregate(fingerprint, tables))
+                .add(caller, scanned, engine);
+        if (aggregates.size() > maxFingerprints) evictCheapest();
+
+        log.info("Athena 실행 통계{} - caller: {}, table: {}, scanned: {}B, engine: {}ms, queue: {}ms, planning: {}ms, service: {}ms",
+                failed ? " (실패)" : "", caller, tables, scanned, engine, queue, planning, service);
+    }
+
+    /**
+     * 메트릭 table 태그: 광고 성과 테이블 하나면 그 이름, 둘 다면 multi, 그 외(CTE·서브쿼리 이름만 있는 경우 포함)는 other
+     */
+    static String tableTag(Set<String> tables) {
+        List<String> known = tables.stream().filter(TAGGED_TABLES::contains).toList();
+        if (known.size() > 1) return "multi";
+        return known.isEmpty() ? "other" : known.get(0);
+    }
+
+    /**
+     * 누적 스캔량 기준 상위 limit개
+     */
+    public List<FingerprintStats> topByScannedBytes(int limit) {
+        return aggregates.values().stream()
+                .map(Aggregate::snapshot)
+                .sorted(Comparator.comparingLong(FingerprintStats::totalScannedBytes).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private Timer timer(String name, String caller, String table) {
+        return Timer.builder(name)
+                .tags("caller", caller, "table", table)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private void evictCheapest() {
+        aggregates.entrySet().stream()
+                .min(Comparator.comparingLong(entry -> entry.getValue().totalScannedBytes()))
+                .ifPresent(entry -> aggregates.remove(entry.getKey(), entry.getValue()));
+    }
+
+    private double estimateCostUsd(long scannedBytes) {
+        return (double) Math.max(scannedBytes, MIN_BILLED_BYTES) / BYTES_PER_TB * pricePerTbUsd;
+    }
+
+    private static long valueOf(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private final class Aggregate {
+
+        private final String hash;
+        private final String normalizedSql;
+        private final Set<String> tables;
+
+        private String lastCaller;
+        private long executions;
+        private long totalScannedBytes;
+        private long maxScannedBytes;
+        private long totalEngineMillis;
+        private double estimatedCostUsd;
+        private Instant lastExecutedAt;
+
+        Aggregate(SqlFingerprint fingerprint, Set<String> tables) {
+            String normalized = fingerprint.normalized();
+            this.hash = fingerprint.hash();
+            this.normalizedSql = normalized.length() > SAMPLE_SQL_MAX_LENGTH
+                    ? normalized.substring(0, SAMPLE_SQL_MAX_LENGTH) + "..."
+                    : normalized;
+            this.tables = tables;
+        }
+
+        synchronized void add(String caller, long scannedBytes, long engineMillis) {
+            lastCaller = caller;
+            executions++;
+            totalScannedBytes += scannedBytes;
+            maxScannedBytes = Math.max(maxScannedBytes, scannedBytes);
+            totalEngineMillis += engineMillis;
+            estimatedCostUsd += estimateCostUsd(scannedBytes);
+            lastExecutedAt = Instant.now();
+        }
+
+        synchronized long totalScannedBytes() {
+            return totalScannedBytes;
+        }
+
+        synchronized FingerprintStats snapshot() {
+            return new FingerprintStats(hash, normalizedSql, tables, lastCaller, executions, totalScannedBytes,
+                    maxScannedBytes, totalEngineMillis, estimatedCostUsd, lastExecutedAt);
+        }
+    }
+}
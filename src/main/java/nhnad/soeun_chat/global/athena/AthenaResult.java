@@ -0,0 +1,376 @@
+package nhnad.soeun_chat.global.athena;
+
+import software.amazon.awssdk.services.athena.model.ColumnInfo;
+import software.amazon.awssdk.services.athena.model.Datum;
+import software.amazon.awssdk.services.athena.model.ResultSetMetadata;
+import software.amazon.awssdk.services.athena.model.Row;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Athena 쿼리 1건의 실행 결과 (컬럼 단위 저장)
+ * 페이지 단위로 채우되 limits 범위까지만 보관하고,
+ * LLM 텍스트/차트 JSON 뷰는 각자의 상한을 적용해 최초 요청 시 한 번만 렌더링한다.
+ */
+public final class AthenaResult {
+
+    public enum ColumnType { INTEGER, DECIMAL, BOOLEAN, TEXT }
+
+    public record Column(String name, ColumnType type) {}
+
+    /**
+     * 캐시(Redis) 저장용 직렬화 형태 (values는 rowCount 길이로 잘라 보관)
+     */
+    public record Snapshot(String queryExecutionId, List<Column> columns, String[][] values,
+                           int rowCount, boolean truncated, AthenaResultLimits limits, long sizeBytes) {}
+
+    private final String queryExecutionId;
+    private final List<Column> columns;
+    private final String[][] values;  // [컬럼][행]
+    private final int rowCount;
+    private final boolean truncated;  // 보관 상한에 걸려 읽기를 중단했는지
+    private final AthenaResultLimits limits;
+    private final long sizeBytes;  // 보관 중인 값들의 UTF-8 크기 추정치
+
+    private volatile String text;
+    private volatile String json;
+
+    private AthenaResult(String queryExecutionId, List<Column> columns, String[][] values,
+                         int rowCount, boolean truncated, AthenaResultLimits limits, long sizeBytes) {
+        this.queryExecutionId = queryExecutionId;
+        this.columns = columns;
+        this.values = values;
+        this.rowCount = rowCount;
+        this.truncated = truncated;
+        this.limits = limits;
+        this.sizeBytes = sizeBytes;
+    }
+
+    public static Builder builder(String queryExecutionId, AthenaResultLimits limits) {
+        return new Builder(queryExecutionId, limits);
+    }
+
+    public static AthenaResult empty() {
+        return new AthenaResult(null, List.of(), new String[0][0], 0, false, null, 0);
+    }
+
+    public static AthenaResult fromSnapshot(Snapshot snapshot) {
+        return new AthenaResult(snapshot.queryExecutionId(), snapshot.columns(), snapshot.values(),
+                snapshot.rowCount(), snapshot.truncated(), snapshot.limits(), snapshot.sizeBytes());
+    }
+
+    public Snapshot snapshot() {
+        String[][] trimmed = new String[values.length][];
+        for (int c = 0; c < values.length; c++) {
+            trimmed[c] = Arrays.copyOf(values[c], rowCount);
+        }
+        return new Snapshot(queryExecutionId, columns, trimmed, rowCount, truncated, limits, sizeBytes);
+    }
+
+    public String queryExecutionId() {
+        return queryExecutionId;
+    }
+
+    public List<Column> columns() {
+        return columns;
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public boolean truncated() {
+        return truncated;
+    }
+
+    public long sizeBytes() {
+        return sizeBytes;
+    }
+
+    public String getString(int row, int column) {
+        return values[column][row];
+    }
+
+    public long getLong(int row, int column) {
+        String value = values[column][row];
+        if (value == null || value.isBlank()) return 0L;
+        try {
+            return columns.get(column).type() == ColumnType.INTEGER
+                    ? Long.parseLong(value)
+                    : (long) Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    public double getDouble(int row, int column) {
+        String value = values[column][row];
+        if (value == null || value.isBlank()) return 0.0;
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+
+    /**
+     * LLM 전달용 텍스트: 행마다 {컬럼: 값, ...} 한 줄 (model 상한 적용)
+     */
+    public String text() {
+        String rendered = text;
+        if (rendered == null) {
+            rendered = renderText();
+            text = rendered;
+        }
+        return rendered;
+    }
+
+    /**
+     * 차트 렌더링용 JSON 배열 (chart 상한 적용, 숫자 여부는 ResultSetMetadata 컬럼 타입 기준)
+     */
+    public String json() {
+        String rendered = json;
+        if (rendered == null) {
+            rendered = renderJson();
+            json = rendered;
+        }
+        return rendered;
+    }
+
+    private String renderText() {
+        if (rowCount == 0) return "조회 결과 없음";
+
+        int maxRows = limits != null ? limits.modelMaxRows() : Integer.MAX_VALUE;
+        long maxBytes = limits != null ? limits.modelMaxBytes() : Long.MAX_VALUE;
+
+        StringBuilder sb = new StringBuilder();
+        StringBuilder line = new StringBuilder();
+        long bytes = 0;
+        int emitted = 0;
+        for (int r = 0; r < rowCount && emitted < maxRows; r++) {
+            line.setLength(0);
+            line.append('{');
+            for (int c = 0; c < columns.size(); c++) {
+                if (c > 0) line.append(", ");
+                String v = values[c][r];
+                // 마크다운 헤딩 오인 방지: # 기호 이스케이프
+                line.append(columns.get(c).name()).append(": ").append(v != null ? v.replace("#", "\\#") : "");
+            }
+            line.append('}');
+
+            long lineBytes = utf8Length(line) + 1;
+            if (emitted > 0 && bytes + lineBytes > maxBytes) break;
+            if (emitted > 0) sb.append('\n');
+            sb.append(line);
+            bytes += lineBytes;
+            emitted++;
+        }
+
+        if (emitted < rowCount || truncated) {
+            sb.append("\n(결과가 많아 상위 ").append(emitted).append("건만 포함됨)");
+        }
+        return sb.toString();
+    }
+
+    private String renderJson() {
+        if (rowCount == 0) return "[]";
+
+        int maxRows = limits != null ? limits.chartMaxRows() : Integer.MAX_VALUE;
+        long maxBytes = limits != null ? limits.chartMaxBytes() : Long.MAX_VALUE;
+
+        String[] keys = columns.stream()
+                .map(column -> "\"" + escapeJson(column.name()) + "\":")
+                .toArray(String[]::new);
+
+        StringBuilder sb = new StringBuilder("[");
+        StringBuilder obj = new StringBuilder();
+        long bytes = 2;
+        int emitted = 0;
+        for (int r = 0; r < rowCount && emitted < maxRows; r++) {
+            obj.setLength(0);
+            obj.append('{');
+            for (int c = 0; c < columns.size(); c++) {
+                if (c > 0) obj.append(',');
+                obj.append(keys[c]);
+                appendJsonValue(obj, columns.get(c).type(), values[c][r]);
+            }
+            obj.append('}');
+
+            long objBytes = utf8Length(obj) + 1;
+            if (emitted > 0 && bytes + objBytes > maxBytes) break;
+            if (emitted > 0) sb.append(',');
+            sb.append(obj);
+            bytes += objBytes;
+            emitted++;
+        }
+        return sb.append(']').toString();
+    }
+
+    private static void appendJsonValue(StringBuilder sb, ColumnType type, String value) {
+        if (value == null || value.isEmpty()) {
+            sb.append("null");
+            return;
+        }
+        switch (type) {
+            case INTEGER, BOOLEAN -> sb.append(value);
+            // NaN/Infinity는 JSON 숫자로 표현 불가
+            case DECIMAL -> sb.append(isFiniteNumber(value) ? value : "null");
+            default -> sb.append('"').append(escapeJson(value)).append('"');
+        }
+    }
+
+    private static boolean isFiniteNumber(String value) {
+        return Character.isDigit(value.charAt(value.length() - 1));
+    }
+
+    // RFC 8259: 따옴표, 역슬래시와 0x20 미만 제어문자는 모두 이스케이프해야 한다
+    private static String escapeJson(String value) {
+        StringBuilder sb = null;
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            String escaped = switch (ch) {
+                case '"' -> "\\\"";
+                case '\\' -> "\\\\";
+                case '\n' -> "\\n";
+                case '\r' -> "\\r";
+                case '\t' -> "\\t";
+                case '\b' -> "\\b";
+                case '\f' -> "\\f";
+                default -> ch < 0x20 ? String.format("\\u%04x", (int) ch) : null;
+            };
+            if (escaped == null) {
+                if (sb != null) sb.append(ch);
+                continue;
+            }
+            if (sb == null) sb = new StringBuilder(value.length() + 16).append(value, 0, i);
+            sb.append(escaped);
+        }
+        return sb != null ? sb.toString() : value;
+    }
+
+    private static long utf8Length(CharSequence s) {
+        long bytes = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            if (ch < 0x80) bytes += 1;
+            else if (ch < 0x800) bytes += 2;
+            else bytes += 3;  // 한글 등 BMP 문자 (서로게이트 쌍은 2 × 3으로 근사)
+        }
+        return bytes;
+    }
+
+    private static ColumnType toColumnType(ColumnInfo info) {
+        String type = info.type() != null ? info.type().toLowerCase() : "varchar";
+        return switch (type) {
+            case "tinyint", "smallint", "integer", "int", "bigint" -> ColumnType.INTEGER;
+            case "double", "float", "real", "decimal" -> ColumnType.DECIMAL;
+            case "boolean" -> ColumnType.BOOLEAN;
+            default -> ColumnType.TEXT;
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "AthenaResult[" + queryExecutionId + ", columns=" + columns + ", rows=" + rowCount
+                + (truncated ? ", truncated" : "") + "]";
+    }
+
+    /**
+     * 페이지를 받아 컬럼 배열에 누적한다. 보관 상한에 도달하면 false를 반환해 읽기를 멈춘다.
+     */
+    public static final class Builder implements ResultPageConsumer {
+
+        private static final int INITIAL_CAPACITY = 64;
+
+        private final String queryExecutionId;
+        private final AthenaResultLimits limits;
+
+        private List<Column> columns;
+        private String[][] values;
+        private int rowCount;
+        private long retainedBytes;
+        private boolean truncated;
+
+        private Builder(String queryExecutionId, AthenaResultLimits limits) {
+            this.queryExecutionId = queryExecutionId;
+            this.limits = limits;
+        }
+
+        @Override
+        public boolean accept(ResultSetMetadata metadata, List<Row> rows, boolean hasMore) {
+            if (columns == null) {
+                columns = metadata.columnInfo().stream()
+                        .map(info -> new Column(info.name(), toColumnType(info)))
+                        .toList();
+                values = new String[columns.size()][INITIAL_CAPACITY];
+            }
+
+            for (Row row : rows) {
+                if (isFull()) {
+                    truncated = true;
+                    return false;
+                }
+                ensureCapacity(rowCount + 1);
+                List<Datum> data = row.data();
+                for (int c = 0; c < columns.size() && c < data.size(); c++) {
+                    retain(c, data.get(c).varCharValue());
+                }
+                rowCount++;
+            }
+
+            // 상한에 딱 맞게 찼다면 다음 페이지는 요청하지 않는다
+            if (isFull() && hasMore) {
+                truncated = true;
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * S3 CSV 경로용: 레코드 1건을 추가한다. 컬럼은 첫 페이지(accept)에서 이미 초기화되어 있어야 한다.
+         *
+         * @return 보관 상한에 걸려 더 받을 수 없으면 false
+         */
+        public boolean append(String[] record) {
+            if (isFull()) {
+                truncated = true;
+                return false;
+            }
+            ensureCapacity(rowCount + 1);
+            for (int c = 0; c < columns.size() && c < record.length; c++) {
+                retain(c, record[c]);
+            }
+            rowCount++;
+            return true;
+        }
+
+        public int rowCount() {
+            return rowCount;
+        }
+
+        private void retain(int column, String value) {
+            values[column][rowCount] = value;
+            if (value != null) retainedBytes += utf8Length(value);
+        }
+
+        public AthenaResult build() {
+            if (columns == null) {
+                return new AthenaResult(queryExecutionId, List.of(), new String[0][0], 0, false, limits, 0);
+            }
+            return new AthenaResult(queryExecutionId, columns, values, rowCount, truncated, limits, retainedBytes);
+        }
+
+        private boolean isFull() {
+            return rowCount >= limits.retainMaxRows() || retainedBytes >= limits.retainMaxBytes();
+        }
+
+        private void ensureCapacity(int required) {
+            if (values.length == 0 || values[0].length >= required) return;
+            int capacity = Math.max(required, values[0].length * 2);
+            for (int c = 0; c < values.length; c++) {
+                values[c] = Arrays.copyOf(values[c], capacity);
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package nhnad.soeun_chat.global.athena;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SQL fingerprint 기준 Athena 결과 캐시
+ * L1: 프로세스 내 LRU (보관 바이트 합계 상한), L2: Redis (노드 간 공유)
+ * TTL은 쿼리가 건드리는 날짜 범위로 정한다: 적재가 끝난 과거 파티션만 읽으면 길게, 최근/미지정이면 짧게.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AthenaResultCache {
+
+    private static final String KEY_PREFIX = "athena:result:";
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final DateTimeFormatter BASIC_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    // 정규화된 SQL(소문자, 토큰 사이 공백 1칸) 기준
+    private static final Pattern BASIC_DATE_BETWEEN = Pattern.compile("basic_date between (\\d{8}) and (\\d{8})");
+    private static final Pattern BASIC_DATE_UPPER = Pattern.compile("basic_date (?:=|<=|<) (\\d{8})");
+    private static final Pattern YEAR = Pattern.compile("year = '(\\d{4})'");
+    private static final Pattern MONTH = Pattern.compile("month_p = '(\\d{1,2})'");
+    private static final Pattern DAY = Pattern.compile("day = '(\\d{1,2})'");
+
+    @Value("${aws.athena.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${aws.athena.cache.l1-max-bytes:33554432}")
+    private long l1MaxBytes;
+
+    // 적재 완료로 간주하기까지의 지연 일수 (늦게 들어오는 로그 대비)
+    @Value("${aws.athena.cache.settle-days:2}")
+    private int settleDays;
+
+    @Value("${aws.athena.cache.closed-ttl-minutes:1440}")
+    private long closedTtlMinutes;
+
+    @Value("${aws.athena.cache.open-ttl-minutes:10}")
+    private long openTtlMinutes;
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final LinkedHashMap<String, Entry> l1 = new LinkedHashMap<>(64, 0.75f, true);
+    private long l1Bytes;
+
+    private record Entry(AthenaResult result, long expiresAtMillis) {}
+
+    public Optional<AthenaResult> get(SqlFingerprint fingerprint) {
+        if (!enabled) return Optional.empty();
+
+        AthenaResult local = getLocal(fingerprint.hash());
+        if (local != null) {
+            log.debug("Athena 결과 캐시 적중(L1) - {}", fingerprint.hash());
+            return Optional.of(local);
+        }
+
+        try {
+            String key = KEY_PREFIX + fingerprint.hash();
+            String cached = redisTemplate.opsForValue().get(key);
+            if (cached == null) return Optional.empty();
+
+            AthenaResult result = AthenaResult.fromSnapshot(objectMapper.readValue(cached, AthenaResult.Snapshot.class));
+            Long ttlSeconds = redisTemplate.getExpire(key);
+            long ttlMillis = ttlSeconds != null && ttlSeconds > 0 ? ttlSeconds * 1000 : ttlFor(fingerprint).toMillis();
+            putLocal(fingerprint.hash(), result, ttlMillis);
+            log.debug("Athena 결과 캐시 적중(L2) - {}", fingerprint.hash());
+            return Optional.of(result);
+        } catch (Exception e) {
+            // 캐시 장애가 쿼리 실패로 이어지지 않도록 미스로 처리
+            log.warn("Athena 결과 캐시 조회 실패: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void put(SqlFingerprint fingerprint, AthenaResult result) {
+        if (!enabled) return;
+
+        Duration ttl = ttlFor(fingerprint);
+        putLocal(fingerprint.hash(), result, ttl.toMillis());
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + fingerprint.hash(),
+                    objectMapper.writeValueAsString(result.snapshot()), ttl);
+        } catch (JsonProcessingException e) {
+            log.warn("Athena 결과 직렬화 실패: {}", e.getMessage());
+        } catch (Exception e) {
+            log.warn("Athena 결과 캐시 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 쿼리가 읽는 마지막 날짜가 적재 완료 시점(오늘 - settleDays)보다 이전이면 closed TTL
+     */
+    Duration ttlFor(SqlFingerprint fingerprint) {
+        LocalDate lastDate = lastTouchedDate(fingerprint.normalized());
+        LocalDate settled = LocalDate.now(ZONE).minusDays(settleDays);
+        return lastDate != null && lastDate.isBefore(settled)
+                ? Duration.ofMinutes(closedTtlMinutes)
+                : Duration.ofMinutes(openTtlMinutes);
+    }
+
+    // 날짜 조건이 없으면 null (전체 범위 → 최신 파티션 포함으로 간주)
+    private static LocalDate lastTouchedDate(String sql) {
+        LocalDate last = null;
+        Matcher between = BASIC_DATE_BETWEEN.matcher(sql);
+        while (between.find()) last = later(last, parseBasicDate(between.group(2)));
+        Matcher upper = BASIC_DATE_UPPER.matcher(sql);
+        while (upper.find()) last = later(last, parseBasicDate(upper.group(1)));
+        if (last != null) return last;
+
+        Matcher year = YEAR.matcher(sql);
+        if (!year.find()) return null;
+        int y = Integer.parseInt(year.group(1));
+        Matcher month = MONTH.matcher(sql);
+        if (!month.find()) return LocalDate.of(y, 12, 31);
+        YearMonth ym = YearMonth.of(y, Integer.parseInt(month.group(1)));
+        Matcher day = DAY.matcher(sql);
+        return day.find() ? ym.atDay(Integer.parseInt(day.group(1))) : ym.atEndOfMonth();
+    }
+
+    private static LocalDate parseBasicDate(String value) {
+        try {
+            return LocalDate.parse(value, BASIC_DATE);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static LocalDate later(LocalDate a, LocalDate b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isAfter(b) ? a : b;
+    }
+
+    private synchronized AthenaResult getLocal(String hash) {
+        Entry entry = l1.get(hash);
+        if (entry == null) return null;
+        if (entry.expiresAtMillis() < System.currentTimeMillis()) {
+            l1.remove(hash);
+            l1Bytes -= entry.result().sizeBytes();
+            return null;
+        }
+        return entry.result();
+    }
+
+    private synchronized void putLocal(String hash, AthenaResult result, long ttlMillis) {
+        // 한 건이 상한의 1/4을 넘으면 L1에는 두지 않는다 (L2만 사용)
+        if (result.sizeBytes() > l1MaxBytes / 4) return;
+
+        Entry previous = l1.put(hash, new Entry(result, System.currentTimeMillis() + ttlMillis));
+        if (previous != null) l1Bytes -= previous.result().sizeBytes();
+        l1Bytes += result.sizeBytes();
+
+        Iterator<Map.Entry<String, Entry>> eldest = l1.entrySet().iterator();
+        while (l1Bytes > l1MaxBytes && eldest.hasNext()) {
+            l1Bytes -= eldest.next().getValue().result().sizeBytes();
+            eldest.remove();
+        }
+    }
+}
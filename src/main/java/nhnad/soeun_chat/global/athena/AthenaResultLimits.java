@@ -0,0 +1,16 @@
+package nhnad.soeun_chat.global.athena;
+
+/**
+ * 결과 크기 상한: LLM 전달용(model)과 차트 전달용(chart)을 따로 둔다
+ */
+public record AthenaResultLimits(int modelMaxRows, long modelMaxBytes, int chartMaxRows, long chartMaxBytes) {
+
+    // 두 뷰 중 하나라도 더 필요로 하는 동안만 행을 보관한다
+    public int retainMaxRows() {
+        return Math.max(modelMaxRows, chartMaxRows);
+    }
+
+    public long retainMaxBytes() {
+        return Math.max(modelMaxBytes, chartMaxBytes);
+    }
+}
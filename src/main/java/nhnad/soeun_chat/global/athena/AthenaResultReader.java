@@ -0,0 +1,67 @@
+package nhnad.soeun_chat.global.athena;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.athena.AthenaAsyncClient;
+import software.amazon.awssdk.services.athena.model.GetQueryResultsRequest;
+import software.amazon.awssdk.services.athena.model.Row;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * nextToken을 따라가며 GetQueryResults 결과를 페이지 단위로 흘려보내는 리더
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AthenaResultReader {
+
+    // GetQueryResults 페이지당 최대 행 수 (API 상한)
+    private static final int PAGE_SIZE = 1000;
+
+    private final AthenaAsyncClient athenaAsyncClient;
+
+    public CompletableFuture<Void> read(String queryExecutionId, ResultPageConsumer consumer) {
+        return read(queryExecutionId, null, consumer);
+    }
+
+    /**
+     * startToken 위치부터 마지막 페이지(또는 consumer가 멈출 때)까지 읽는다
+     */
+    public CompletableFuture<Void> read(String queryExecutionId, String startToken, ResultPageConsumer consumer) {
+        return readPage(queryExecutionId, startToken, consumer)
+                .thenCompose(nextToken -> nextToken == null
+                        ? CompletableFuture.completedFuture(null)
+                        : read(queryExecutionId, nextToken, consumer));
+    }
+
+    /**
+     * 한 페이지만 읽는다
+     *
+     * @return 이어서 읽을 nextToken (마지막 페이지이거나 consumer가 멈췄으면 null)
+     */
+    public CompletableFuture<String> readPage(String queryExecutionId, String token, ResultPageConsumer consumer) {
+        return athenaAsyncClient.getQueryResults(GetQueryResultsRequest.builder()
+                        .queryExecutionId(queryExecutionId)
+                        .nextToken(token)
+                        .maxResults(PAGE_SIZE)
+                        .build())
+                .thenApply(response -> {
+                    List<Row> rows = response.resultSet().rows();
+                    // 첫 페이지의 첫 행은 컬럼명 헤더
+                    if (token == null && !rows.isEmpty()) {
+                        rows = rows.subList(1, rows.size());
+                    }
+
+                    String nextToken = response.nextToken();
+                    boolean wantsMore = consumer.accept(response.resultSet().resultSetMetadata(), rows, nextToken != null);
+                    if (!wantsMore) {
+                        log.debug("Athena 결과 읽기 중단 - queryExecutionId: {}", queryExecutionId);
+                        return null;
+                    }
+                    return nextToken;
+                });
+    }
+}
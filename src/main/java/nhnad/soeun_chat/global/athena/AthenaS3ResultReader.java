@@ -0,0 +1,109 @@
+package nhnad.soeun_chat.global.athena;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Athena 결과 파일(s3://.../{queryExecutionId}.csv)을 S3에서 직접 스트리밍으로 읽는 리더
+ * GetQueryResults 페이지 반복 호출 대신 GetObject 한 번으로 대용량 결과를 받는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AthenaS3ResultReader {
+
+    private static final String S3_SCHEME = "s3://";
+    private static final int READER_THREADS = 4;
+
+    private final S3Client s3Client;
+
+    // S3Client는 블로킹 I/O이므로 poll 스케줄러/공용 풀과 분리된 전용 스레드에서 읽는다
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final ExecutorService readExecutor = Executors.newFixedThreadPool(READER_THREADS, r -> {
+        Thread thread = new Thread(r, "athena-s3-read-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    public void shutdown() {
+        readExecutor.shutdownNow();
+    }
+
+    /**
+     * 결과 파일 크기(bytes)
+     */
+    public CompletableFuture<Long> size(String outputLocation) {
+        return CompletableFuture.supplyAsync(() -> {
+            String[] location = parse(outputLocation);
+            return s3Client.headObject(HeadObjectRequest.builder()
+                            .bucket(location[0])
+                            .key(location[1])
+                            .build())
+                    .contentLength();
+        }, readExecutor);
+    }
+
+    /**
+     * CSV 레코드를 순서대로 consumer에 전달한다. consumer가 false를 반환하면 남은 본문은 받지 않고 끊는다.
+     *
+     * @param skipRecords 앞에서부터 건너뛸 레코드 수 (헤더 포함)
+     */
+    public CompletableFuture<Void> read(String outputLocation, long skipRecords, Predicate<String[]> consumer) {
+        return CompletableFuture.runAsync(() -> {
+            String[] location = parse(outputLocation);
+            try (ResponseInputStream<GetObjectResponse> in = s3Client.getObject(GetObjectRequest.builder()
+                    .bucket(location[0])
+                    .key(location[1])
+                    .build());
+                 Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+
+                CsvRecordReader csv = new CsvRecordReader(reader);
+                long index = 0;
+                String[] record;
+                while ((record = csv.next()) != null) {
+                    if (index++ < skipRecords) continue;
+                    if (!consumer.test(record)) {
+                        // 남은 본문을 끝까지 소비하지 않도록 연결을 중단
+                        in.abort();
+                        log.debug("S3 결과 읽기 중단 - {} ({}번째 레코드)", outputLocation, index);
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, readExecutor);
+    }
+
+    // s3://bucket/key → [bucket, key]
+    private static String[] parse(String outputLocation) {
+        if (!outputLocation.startsWith(S3_SCHEME)) {
+            throw new IllegalArgumentException("S3 경로 형식이 아닙니다: " + outputLocation);
+        }
+        String path = outputLocation.substring(S3_SCHEME.length());
+        int slash = path.indexOf('/');
+        if (slash <= 0 || slash == path.length() - 1) {
+            throw new IllegalArgumentException("S3 경로 형식이 아닙니다: " + outputLocation);
+        }
+        return new String[]{path.substring(0, slash), path.substring(slash + 1)};
+    }
+}
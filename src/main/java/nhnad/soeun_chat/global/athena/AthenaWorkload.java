@@ -0,0 +1,21 @@
+package nhnad.soeun_chat.global.athena;
+
+/**
+ * 쿼리 실행 주체: 어느 레인에서, 어떤 사용자 몫으로 슬롯을 쓰는지
+ *
+ * @param userId 사용자별 동시 실행 상한 적용 대상 (null이면 상한 없음)
+ */
+public record AthenaWorkload(AthenaLane lane, String userId) {
+
+    public static AthenaWorkload chat(String userId) {
+        return new AthenaWorkload(AthenaLane.CHAT, userId);
+    }
+
+    public static AthenaWorkload dashboard() {
+        return new AthenaWorkload(AthenaLane.DASHBOARD, null);
+    }
+
+    public static AthenaWorkload report(String userId) {
+        return new AthenaWorkload(AthenaLane.REPORT, userId);
+    }
+}
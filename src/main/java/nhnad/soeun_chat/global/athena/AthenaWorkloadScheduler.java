@@ -0,0 +1,227 @@
+package nhnad.soeun_chat.global.athena;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Athena 워크그룹 동시 실행 슬롯 배분기
+ * - 전체 슬롯 수는 워크그룹 동시 실행 한도에 맞춘다
+ * - 빈 슬롯은 CHAT → DASHBOARD → REPORT 순으로 배정하고, 하위 레인은 레인별 상한까지만 쓴다
+ *   (REPORT 배치가 몰려도 slots - report-max-slots 만큼은 항상 대화형 요청 몫으로 남는다)
+ * - 같은 사용자의 동시 실행은 per-user-slots로 제한한다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AthenaWorkloadScheduler {
+
+    @Value("${aws.athena.scheduler.slots:20}")
+    private int slots;
+
+    @Value("${aws.athena.scheduler.dashboard-max-slots:10}")
+    private int dashboardMaxSlots;
+
+    @Value("${aws.athena.scheduler.report-max-slots:4}")
+    private int reportMaxSlots;
+
+    @Value("${aws.athena.scheduler.per-user-slots:2}")
+    private int perUserSlots;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<AthenaLane, Deque<Ticket<?>>> queues = new EnumMap<>(AthenaLane.class);
+    private final int[] runningByLane = new int[AthenaLane.values().length];
+    private final Map<String, Integer> runningByUser = new HashMap<>();
+    private final Map<AthenaLane, Timer> waitTimers = new EnumMap<>(AthenaLane.class);
+    private int running;
+
+    @PostConstruct
+    void registerMetrics() {
+        for (AthenaLane lane : AthenaLane.values()) {
+            queues.put(lane, new ArrayDeque<>());
+            String tag = lane.name().toLowerCase();
+            Gauge.builder("athena.scheduler.queue.depth", this, scheduler -> scheduler.queueDepth(lane))
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            Gauge.builder("athena.scheduler.running", this, scheduler -> scheduler.running(lane))
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            waitTimers.put(lane, Timer.builder("athena.scheduler.wait")
+                    .tag("lane", tag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * 슬롯이 배정되면 task를 시작한다. task가 끝나면(성공/실패/취소) 슬롯을 반납한다.
+     * 대기 중에 result()를 cancel하면 큐에서 빠진다.
+     */
+    public <T> Ticket<T> submit(AthenaWorkload workload, Supplier<CompletableFuture<T>> task) {
+        Ticket<T> ticket = new Ticket<>(workload, task);
+        ticket.result.whenComplete((result, error) -> {
+            if (ticket.result.isCancelled()) cancel(ticket);
+        });
+        synchronized (this) {
+            queues.get(ticket.lane).addLast(ticket);
+        }
+        dispatch();
+        return ticket;
+    }
+
+    public synchronized int queueDepth(AthenaLane lane) {
+        return queues.get(lane).size();
+    }
+
+    public synchronized int running(AthenaLane lane) {
+        return runningByLane[lane.ordinal()];
+    }
+
+    private void dispatch() {
+        List<Ticket<?>> ready = new ArrayList<>();
+        synchronized (this) {
+            while (running < slots) {
+                Ticket<?> next = pollNext();
+                if (next == null) break;
+                next.state = TicketState.RUNNING;
+                running++;
+                runningByLane[next.lane.ordinal()]++;
+                if (next.userId != null) runningByUser.merge(next.userId, 1, Integer::sum);
+                ready.add(next);
+            }
+        }
+        ready.forEach(this::start);
+    }
+
+    // 우선순위가 높은 레인부터, 레인 상한과 사용자 상한에 걸리지 않는 첫 요청
+    private Ticket<?> pollNext() {
+        for (AthenaLane lane : AthenaLane.values()) {
+            if (runningByLane[lane.ordinal()] >= laneLimit(lane)) continue;
+            Iterator<Ticket<?>> it = queues.get(lane).iterator();
+            while (it.hasNext()) {
+                Ticket<?> ticket = it.next();
+                if (ticket.userId == null || runningByUser.getOrDefault(ticket.userId, 0) < perUserSlots) {
+                    it.remove();
+                    return ticket;
+                }
+            }
+        }
+        return null;
+    }
+
+    private int laneLimit(AthenaLane lane) {
+        return switch (lane) {
+            case CHAT -> slots;
+            case DASHBOARD -> dashboardMaxSlots;
+            case REPORT -> reportMaxSlots;
+        };
+    }
+
+    private <T> void start(Ticket<T> ticket) {
+        waitTimers.get(ticket.lane).record(System.nanoTime() - ticket.enqueuedAt, TimeUnit.NANOSECONDS);
+
+        CompletableFuture<T> taskFuture;
+        try {
+            taskFuture = ticket.task.get();
+        } catch (Exception e) {
+            taskFuture = CompletableFuture.failedFuture(e);
+        }
+        ticket.taskFuture = taskFuture;
+        if (ticket.result.isCancelled()) taskFuture.cancel(true);
+
+        taskFuture.whenComplete((result, error) -> {
+            release(ticket);
+            if (error != null) {
+                ticket.result.completeExceptionally(error);
+            } else {
+                ticket.result.complete(result);
+            }
+        });
+    }
+
+    private void release(Ticket<?> ticket) {
+        synchronized (this) {
+            ticket.state = TicketState.DONE;
+            running--;
+            runningByLane[ticket.lane.ordinal()]--;
+            if (ticket.userId != null) {
+                runningByUser.computeIfPresent(ticket.userId, (user, count) -> count > 1 ? count - 1 : null);
+            }
+        }
+        dispatch();
+    }
+
+    private void cancel(Ticket<?> ticket) {
+        CompletableFuture<?> taskFuture;
+        synchronized (this) {
+            if (ticket.state == TicketState.QUEUED) {
+                queues.get(ticket.lane).remove(ticket);
+                ticket.state = TicketState.DONE;
+                return;
+            }
+            taskFuture = ticket.taskFuture;
+        }
+        if (taskFuture != null) taskFuture.cancel(true);
+    }
+
+    private synchronized void promote(Ticket<?> ticket, AthenaLane lane) {
+        if (ticket.state != TicketState.QUEUED || lane.ordinal() >= ticket.lane.ordinal()) return;
+        queues.get(ticket.lane).remove(ticket);
+        ticket.lane = lane;
+        queues.get(lane).addLast(ticket);
+    }
+
+    private enum TicketState { QUEUED, RUNNING, DONE }
+
+    /**
+     * 슬롯 배정 대기 중이거나 실행 중인 요청 1건
+     */
+    public final class Ticket<T> {
+
+        private final String userId;
+        private final Supplier<CompletableFuture<T>> task;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final long enqueuedAt = System.nanoTime();
+
+        // 아래 필드는 스케줄러 락으로 보호
+        private AthenaLane lane;
+        private TicketState state = TicketState.QUEUED;
+        private CompletableFuture<T> taskFuture;
+
+        private Ticket(AthenaWorkload workload, Supplier<CompletableFuture<T>> task) {
+            this.lane = workload.lane();
+            this.userId = workload.userId();
+            this.task = task;
+        }
+
+        public CompletableFuture<T> result() {
+            return result;
+        }
+
+        /**
+         * 더 높은 우선순위 요청이 같은 실행을 기다리게 되면 대기 레인을 올린다 (우선순위 역전 방지)
+         */
+        public void promote(AthenaLane lane) {
+            AthenaWorkloadScheduler.this.promote(this, lane);
+            dispatch();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package nhnad.soeun_chat.global.athena;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Athena 결과 CSV(RFC 4180) 스트리밍 파서
+ * 따옴표 없는 빈 필드는 NULL(null), 따옴표로 감싼 빈 필드는 빈 문자열로 구분한다.
+ */
+final class CsvRecordReader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Reader reader;
+    private final char[] buf = new char[BUFFER_SIZE];
+    private int pos;
+    private int limit;
+
+    private final StringBuilder field = new StringBuilder();
+    private final List<String> record = new ArrayList<>();
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * @return 다음 레코드, 스트림 끝이면 null
+     */
+    String[] next() throws IOException {
+        if (!ensure()) return null;
+
+        record.clear();
+        while (true) {
+            field.setLength(0);
+            boolean quoted = ensure() && buf[pos] == '"';
+            int terminator = quoted ? readQuoted() : readPlain();
+
+            record.add(quoted || field.length() > 0 ? field.toString() : null);
+
+            if (terminator == ',') continue;
+            if (terminator == '\r' && ensure() && buf[pos] == '\n') pos++;
+            return record.toArray(new String[0]);
+        }
+    }
+
+    // 구분자(, \r \n) 또는 EOF(-1)를 만날 때까지 읽고 그 구분자를 반환
+    private int readPlain() throws IOException {
+        while (ensure()) {
+            int start = pos;
+            while (pos < limit) {
+                char ch = buf[pos];
+                if (ch == ',' || ch == '\n' || ch == '\r') {
+                    field.append(buf, start, pos - start);
+                    pos++;
+                    return ch;
+                }
+                pos++;
+            }
+            field.append(buf, start, pos - start);
+        }
+        return -1;
+    }
+
+    private int readQuoted() throws IOException {
+        pos++;  // 여는 따옴표
+        while (ensure()) {
+            int start = pos;
+            while (pos < limit && buf[pos] != '"') pos++;
+            field.append(buf, start, pos - start);
+            if (pos == limit) continue;
+
+            pos++;  // 따옴표
+            if (ensure() && buf[pos] == '"') {
+                // "" → 따옴표 문자
+                field.append('"');
+                pos++;
+                continue;
+            }
+            // 닫는 따옴표 뒤 구분자
+            if (!ensure()) return -1;
+            return buf[pos++];
+        }
+        return -1;
+    }
+
+    private boolean ensure() throws IOException {
+        if (pos < limit) return true;
+        int n = reader.read(buf, 0, buf.length);
+        if (n <= 0) return false;
+        pos = 0;
+        limit = n;
+        return true;
+    }
+}
@@ -0,0 +1,19 @@
+package nhnad.soeun_chat.global.athena;
+
+import software.amazon.awssdk.services.athena.model.ResultSetMetadata;
+import software.amazon.awssdk.services.athena.model.Row;
+
+import java.util.List;
+
+/**
+ * GetQueryResults 페이지 단위 소비자 (헤더 행은 제외된 상태로 전달)
+ */
+@FunctionalInterface
+public interface ResultPageConsumer {
+
+    /**
+     * @param hasMore 뒤에 읽을 페이지가 더 남아 있는지
+     * @return false를 반환하면 다음 페이지를 더 읽지 않는다
+     */
+    boolean accept(ResultSetMetadata metadata, List<Row> rows, boolean hasMore);
+}
@@ -0,0 +1,242 @@
+package nhnad.soeun_chat.global.athena;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 의미가 같은 SQL을 같은 키로 묶기 위한 정규화 결과와 그 해시
+ * - 주석 제거, 공백 정리, 키워드/식별자 소문자화 (문자열 리터럴은 원문 유지)
+ * - 정수 리터럴 앞자리 0 제거, IN (...) 리터럴 목록 정렬/중복 제거, != → <>
+ * - 테이블 별칭(FROM/JOIN 뒤)은 등장 순서대로 $t1, $t2 ... 로 치환하고 AS는 생략
+ *   (별칭 정의와 "별칭." 한정자 위치만 바꾸고, 별칭과 이름이 같은 컬럼이나 출력 별칭은 그대로 둔다)
+ */
+public record SqlFingerprint(String normalized, String hash) {
+
+    // FROM/JOIN 대상 뒤에 와도 별칭이 아닌 키워드
+    private static final Set<String> NON_ALIAS_KEYWORDS = Set.of(
+            "where", "join", "inner", "left", "right", "full", "cross", "outer", "natural",
+            "on", "using", "group", "order", "having", "limit", "offset", "union", "except",
+            "intersect", "window", "tablesample", "with", "select");
+
+    public static SqlFingerprint of(String sql) {
+        List<String> tokens = canonicalizeTableAliases(sortInLists(tokenize(sql)));
+        String normalized = String.join(" ", tokens);
+        return new SqlFingerprint(normalized, sha256(normalized));
+    }
+
+    /**
+     * FROM/JOIN 대상 테이블명 (스키마 제외, 정렬/중복 제거) - 메트릭 태그용
+     */
+    public Set<String> tables() {
+        String[] tokens = normalized.split(" ");
+        Set<String> tables = new TreeSet<>();
+        for (int i = 0; i + 1 < tokens.length; i++) {
+            if (!tokens[i].equals("from") && !tokens[i].equals("join")) continue;
+            int j = i + 1;
+            if (tokens[j].isEmpty() || !isIdentifier(tokens[j]) && !tokens[j].startsWith("\"")) continue;
+            // db.table 이면 마지막 이름만
+            while (j + 2 < tokens.length && tokens[j + 1].equals(".")) j += 2;
+            tables.add(tokens[j].replace("\"", ""));
+        }
+        return tables;
+    }
+
+    private static List<String> tokenize(String sql) {
+        List<String> tokens = new ArrayList<>();
+        int n = sql.length();
+        int i = 0;
+        while (i < n) {
+            char ch = sql.charAt(i);
+
+            if (Character.isWhitespace(ch)) {
+                i++;
+            } else if (ch == '-' && i + 1 < n && sql.charAt(i + 1) == '-') {
+                while (i < n && sql.charAt(i) != '\n') i++;
+            } else if (ch == '/' && i + 1 < n && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? n : end + 2;
+            } else if (ch == '\'') {
+                int start = i++;
+                while (i < n) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < n && sql.charAt(i + 1) == '\'') {
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                i = Math.min(i + 1, n);
+                tokens.add(sql.substring(start, i));
+            } else if (ch == '"') {
+                int end = sql.indexOf('"', i + 1);
+                end = end < 0 ? n : end;
+                // Athena(Trino) 식별자는 따옴표 여부와 무관하게 대소문자를 구분하지 않는다
+                tokens.add('"' + sql.substring(i + 1, end).toLowerCase() + '"');
+                i = Math.min(end + 1, n);
+            } else if (Character.isDigit(ch)) {
+                int start = i;
+                while (i < n && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.')) i++;
+                tokens.add(normalizeNumber(sql.substring(start, i)));
+            } else if (Character.isLetter(ch) || ch == '_') {
+                int start = i;
+                while (i < n && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '_')) i++;
+                tokens.add(sql.substring(start, i).toLowerCase());
+            } else {
+                String two = i + 1 < n ? sql.substring(i, i + 2) : "";
+                if (two.equals("!=")) {
+                    tokens.add("<>");
+                    i += 2;
+                } else if (two.equals("<=") || two.equals(">=") || two.equals("<>") || two.equals("||") || two.equals("->")) {
+                    tokens.add(two);
+                    i += 2;
+                } else if (ch != ';') {
+                    tokens.add(String.valueOf(ch));
+                    i++;
+                } else {
+                    i++;
+                }
+            }
+        }
+        return tokens;
+    }
+
+    // 정수는 앞자리 0만 제거 (1.0 ↔ 1 은 결과 타입이 달라지므로 소수는 원문 유지)
+    private static String normalizeNumber(String number) {
+        for (int i = 0; i < number.length(); i++) {
+            if (!Character.isDigit(number.charAt(i))) return number.toLowerCase();
+        }
+        return number.replaceFirst("^0+(?=\\d)", "");
+    }
+
+    // IN ('b', 'a', 'b') → IN ('a', 'b') : 리터럴로만 구성된 목록은 순서/중복이 결과에 영향이 없다
+    private static List<String> sortInLists(List<String> tokens) {
+        List<String> out = new ArrayList<>(tokens.size());
+        int i = 0;
+        while (i < tokens.size()) {
+            String token = tokens.get(i);
+            out.add(token);
+            i++;
+            if (!token.equals("in") || i >= tokens.size() || !tokens.get(i).equals("(")) continue;
+
+            TreeSet<String> literals = new TreeSet<>();
+            int j = i + 1;
+            boolean literalList = true;
+            while (j < tokens.size()) {
+                String element = tokens.get(j);
+                if (!isLiteral(element)) {
+                    literalList = false;
+                    break;
+                }
+                literals.add(element);
+                String separator = j + 1 < tokens.size() ? tokens.get(j + 1) : "";
+                if (separator.equals(")")) break;
+                if (!separator.equals(",")) {
+                    literalList = false;
+                    break;
+                }
+                j += 2;
+            }
+            if (!literalList || j >= tokens.size()) continue;
+
+            out.add("(");
+            out.add(String.join(" , ", literals));
+            out.add(")");
+            i = j + 2;
+        }
+        return out;
+    }
+
+    private static List<String> canonicalizeTableAliases(List<String> tokens) {
+        Map<String, String> aliases = new HashMap<>();
+        Set<Integer> definitions = new HashSet<>();
+        Set<Integer> droppedAs = new HashSet<>();
+
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            if (!token.equals("from") && !token.equals("join")) continue;
+
+            int j = i + 1;
+            while (j < tokens.size()) {
+                j = skipRelation(tokens, j);
+                if (j < tokens.size() && tokens.get(j).equals("as")) {
+                    droppedAs.add(j);
+                    j++;
+                }
+                if (j < tokens.size() && isIdentifier(tokens.get(j)) && !NON_ALIAS_KEYWORDS.contains(tokens.get(j))) {
+                    aliases.putIfAbsent(tokens.get(j), "$t" + (aliases.size() + 1));
+                    definitions.add(j);
+                    j++;
+                }
+                // FROM a x, b y
+                if (token.equals("from") && j < tokens.size() && tokens.get(j).equals(",")) {
+                    j++;
+                    continue;
+                }
+                break;
+            }
+        }
+        if (aliases.isEmpty()) return tokens;
+
+        List<String> out = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            if (droppedAs.contains(i)) continue;
+            String token = tokens.get(i);
+            boolean replace = definitions.contains(i) || isQualifier(tokens, i) && aliases.containsKey(token);
+            out.add(replace ? aliases.get(token) : token);
+        }
+        return out;
+    }
+
+    // g.clicks 의 g 처럼 "." 앞에 오는 첫 이름 (db.table.column 의 table 등 중간 이름은 제외)
+    private static boolean isQualifier(List<String> tokens, int i) {
+        return i + 1 < tokens.size() && tokens.get(i + 1).equals(".") && (i == 0 || !tokens.get(i - 1).equals("."));
+    }
+
+    // 테이블명(db.table) 또는 괄호로 감싼 서브쿼리를 건너뛴 다음 위치
+    private static int skipRelation(List<String> tokens, int j) {
+        if (j < tokens.size() && tokens.get(j).equals("(")) {
+            int depth = 0;
+            while (j < tokens.size()) {
+                String t = tokens.get(j++);
+                if (t.equals("(")) depth++;
+                else if (t.equals(")") && --depth == 0) break;
+            }
+            return j;
+        }
+        if (j < tokens.size() && (isIdentifier(tokens.get(j)) || tokens.get(j).startsWith("\""))) {
+            j++;
+            while (j + 1 < tokens.size() && tokens.get(j).equals(".")) j += 2;
+        }
+        return j;
+    }
+
+    private static boolean isIdentifier(String token) {
+        char first = token.charAt(0);
+        return Character.isLetter(first) || first == '_';
+    }
+
+    private static boolean isLiteral(String token) {
+        char first = token.charAt(0);
+        return first == '\'' || Character.isDigit(first);
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
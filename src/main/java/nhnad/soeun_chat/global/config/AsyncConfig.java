@@ -21,4 +21,17 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    // tool 입력 준비(사전 점검, Redis 캐시/lease 조회)를 Bedrock 이벤트 스트림 밖에서 미리 시작하는 풀
+    // 채팅 루프가 chatExecutor 스레드에서 돌므로 같은 풀에 넣고 기다리면 풀이 가득 찼을 때 서로 막힌다
+    @Bean(name = "toolCallExecutor")
+    public Executor toolCallExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("tool-call-");
+        executor.initialize();
+        return executor;
+    }
 }
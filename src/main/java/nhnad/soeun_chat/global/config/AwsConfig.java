@@ -5,13 +5,16 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.athena.AthenaClient;
+import software.amazon.awssdk.services.athena.AthenaAsyncClient;
 import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeAsyncClient;
 import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeClient;
 import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.lambda.LambdaClient;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+
+import java.net.URI;
 
 @Configuration
 public class AwsConfig {
@@ -22,6 +25,10 @@ public class AwsConfig {
     @Value("${aws.bedrock.region}")
     private String bedrockRegion;
 
+    // MinIO 등 S3 호환 스토리지로 로컬 테스트할 때만 지정 (예: http://localhost:9000)
+    @Value("${aws.s3.endpoint:}")
+    private String s3Endpoint;
+
     // SQL 생성 등 동기 호출용
     @Bean
     public BedrockRuntimeClient bedrockRuntimeClient() {
@@ -48,9 +55,10 @@ public class AwsConfig {
                 .build();
     }
 
+    // 쿼리 완료 대기를 스레드 점유 없이 처리하기 위한 비동기 클라이언트
     @Bean
-    public AthenaClient athenaClient() {
-        return AthenaClient.builder()
+    public AthenaAsyncClient athenaAsyncClient() {
+        return AthenaAsyncClient.builder()
                 .region(Region.of(region))
                 .credentialsProvider(DefaultCredentialsProvider.create())
                 .build();
@@ -58,10 +66,14 @@ public class AwsConfig {
 
     @Bean
     public S3Client s3Client() {
-        return S3Client.builder()
+        S3ClientBuilder builder = S3Client.builder()
                 .region(Region.of(region))
-                .credentialsProvider(DefaultCredentialsProvider.create())
-                .build();
+                .credentialsProvider(DefaultCredentialsProvider.create());
+        if (!s3Endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(s3Endpoint))
+                    .forcePathStyle(true);
+        }
+        return builder.build();
     }
 
     @Bean
@@ -16,11 +16,9 @@ public class CacheConfig {
 
     @Bean
     public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
-        RedisCacheConfiguration dashboardConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofHours(1));
-
+        // 대시보드 요약은 DashboardSummaryCache(stale-while-revalidate)에서 직접 관리
         return RedisCacheManager.builder(redisConnectionFactory)
-                .withCacheConfiguration("dashboard", dashboardConfig)
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofHours(1)))
                 .build();
     }
 }
@@ -34,7 +34,10 @@ public enum ErrorCode {
 
     // 리포트
     REPORT_NOT_FOUND(HttpStatus.NOT_FOUND, "리포트를 찾을 수 없습니다."),
-    REPORT_EXPIRED(HttpStatus.GONE, "만료된 리포트입니다.");
+    REPORT_EXPIRED(HttpStatus.GONE, "만료된 리포트입니다."),
+
+    // 대시보드
+    DASHBOARD_NOT_READY(HttpStatus.SERVICE_UNAVAILABLE, "대시보드 집계를 준비 중입니다. 잠시 후 다시 시도해주세요.");
 
     private final HttpStatus status;
     private final String message;
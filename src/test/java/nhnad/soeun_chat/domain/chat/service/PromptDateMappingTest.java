@@ -0,0 +1,28 @@
+package nhnad.soeun_chat.domain.chat.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PromptDateMappingTest {
+
+    @Test
+    void 한_달_안의_주간은_해당_달_파티션만() {
+        assertThat(PromptDateMapping.partitionPredicate(LocalDate.of(2026, 2, 10), LocalDate.of(2026, 2, 16)))
+                .isEqualTo("year='2026' AND month_p='02'");
+    }
+
+    @Test
+    void 달을_넘는_주간은_두_달_파티션을_모두_포함() {
+        assertThat(PromptDateMapping.partitionPredicate(LocalDate.of(2026, 1, 28), LocalDate.of(2026, 2, 3)))
+                .isEqualTo("year='2026' AND month_p IN ('01','02')");
+    }
+
+    @Test
+    void 해를_넘는_주간은_연도별_파티션을_OR로_묶는다() {
+        assertThat(PromptDateMapping.partitionPredicate(LocalDate.of(2025, 12, 28), LocalDate.of(2026, 1, 3)))
+                .isEqualTo("((year='2025' AND month_p='12') OR (year='2026' AND month_p='01'))");
+    }
+}
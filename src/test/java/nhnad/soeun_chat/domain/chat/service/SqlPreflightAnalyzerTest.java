@@ -0,0 +1,120 @@
+package nhnad.soeun_chat.domain.chat.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlPreflightAnalyzerTest {
+
+    private final SqlPreflightAnalyzer analyzer = new SqlPreflightAnalyzer();
+
+    @Test
+    void 파티션_조건이_있으면_그대로_통과() {
+        String sql = "SELECT SUM(clicks) FROM se_report_db.google_ad_performance WHERE year='2026' AND month_p='02'";
+
+        SqlPreflightAnalyzer.Result result = analyzer.analyze(sql);
+
+        assertThat(result.isRejected()).isFalse();
+        assertThat(result.rewritten()).isFalse();
+        assertThat(result.sql()).isEqualTo(sql);
+    }
+
+    @Test
+    void 파티션_테이블의_month는_month_p로_교정() {
+        SqlPreflightAnalyzer.Result result = analyzer.analyze(
+                "SELECT SUM(clicks) FROM se_report_db.google_ad_performance WHERE year='2026' AND month = '02'");
+
+        assertThat(result.rewritten()).isTrue();
+        assertThat(result.sql()).isEqualTo(
+                "SELECT SUM(clicks) FROM se_report_db.google_ad_performance WHERE year='2026' AND month_p = '02'");
+    }
+
+    @Test
+    void 파티션_테이블이_아니면_month를_그대로_둔다() {
+        String sql = "SELECT * FROM se_report_db.calendar WHERE month = 2";
+
+        SqlPreflightAnalyzer.Result result = analyzer.analyze(sql);
+
+        assertThat(result.rewritten()).isFalse();
+        assertThat(result.sql()).isEqualTo(sql);
+    }
+
+    @Test
+    void 서브쿼리의_month_컬럼은_그대로_둔다() {
+        String sql = "SELECT * FROM (SELECT basic_date, month FROM se_report_db.calendar) t WHERE month = '02'";
+
+        SqlPreflightAnalyzer.Result result = analyzer.analyze(sql);
+
+        assertThat(result.rewritten()).isFalse();
+        assertThat(result.sql()).isEqualTo(sql);
+    }
+
+    @Test
+    void UNION_블록마다_자기_FROM_기준으로_교정() {
+        SqlPreflightAnalyzer.Result result = analyzer.analyze("""
+                SELECT clicks FROM se_report_db.google_ad_performance WHERE year='2026' AND month='02'
+                UNION ALL
+                SELECT clicks FROM se_report_db.calendar WHERE month='02'""");
+
+        assertThat(result.sql()).isEqualTo("""
+                SELECT clicks FROM se_report_db.google_ad_performance WHERE year='2026' AND month_p='02'
+                UNION ALL
+                SELECT clicks FROM se_report_db.calendar WHERE month='02'""");
+    }
+
+    @Test
+    void 조인에서는_파티션_테이블_별칭의_month만_교정() {
+        SqlPreflightAnalyzer.Result result = analyzer.analyze(
+                "SELECT g.clicks FROM se_report_db.google_ad_performance AS g JOIN se_report_db.calendar c "
+                        + "ON g.basic_date = c.basic_date WHERE g.year='2026' AND g.month='02' AND c.month='02'");
+
+        assertThat(result.isRejected()).isFalse();
+        assertThat(result.sql()).isEqualTo(
+                "SELECT g.clicks FROM se_report_db.google_ad_performance AS g JOIN se_report_db.calendar c "
+                        + "ON g.basic_date = c.basic_date WHERE g.year='2026' AND g.month_p='02' AND c.month='02'");
+    }
+
+    @Test
+    void 조인된_다른_테이블의_month는_파티션_조건으로_보지_않는다() {
+        SqlPreflightAnalyzer.Result result = analyzer.analyze(
+                "SELECT g.clicks FROM se_report_db.google_ad_performance g JOIN se_report_db.calendar c "
+                        + "ON g.basic_date = c.basic_date WHERE c.month = '02'");
+
+        assertThat(result.isRejected()).isTrue();
+    }
+
+    @Test
+    void 파티션_조건과_basic_date_범위가_모두_없으면_거부() {
+        SqlPreflightAnalyzer.Result result = analyzer.analyze(
+                "SELECT SUM(spending) FROM se_report_db.kakao_ad_performance");
+
+        assertThat(result.isRejected()).isTrue();
+        assertThat(result.error()).contains("kakao_ad_performance", "month_p");
+    }
+
+    @Test
+    void basic_date_범위로_파티션_조건을_주입() {
+        SqlPreflightAnalyzer.Result result = analyzer.analyze(
+                "SELECT SUM(spending) FROM se_report_db.kakao_ad_performance WHERE basic_date BETWEEN 20260201 AND 20260207");
+
+        assertThat(result.rewritten()).isTrue();
+        assertThat(result.sql()).isEqualTo("SELECT SUM(spending) FROM se_report_db.kakao_ad_performance "
+                + "WHERE year = '2026' AND month_p = '02' AND (basic_date BETWEEN 20260201 AND 20260207)");
+    }
+
+    @Test
+    void 조인된_쿼리는_파티션_조건을_주입하지_않고_거부() {
+        SqlPreflightAnalyzer.Result result = analyzer.analyze(
+                "SELECT g.basic_date FROM se_report_db.google_ad_performance g "
+                        + "JOIN se_report_db.kakao_ad_performance k ON g.basic_date = k.basic_date "
+                        + "WHERE g.basic_date BETWEEN 20260201 AND 20260207");
+
+        assertThat(result.isRejected()).isTrue();
+        assertThat(result.error()).contains("별칭");
+    }
+
+    @Test
+    void 조회_쿼리가_아니면_거부() {
+        assertThat(analyzer.analyze("DROP TABLE se_report_db.google_ad_performance").isRejected()).isTrue();
+    }
+}
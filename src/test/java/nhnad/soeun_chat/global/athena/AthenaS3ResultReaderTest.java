@@ -0,0 +1,116 @@
+package nhnad.soeun_chat.global.athena;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.athena.model.ColumnInfo;
+import software.amazon.awssdk.services.athena.model.Datum;
+import software.amazon.awssdk.services.athena.model.ResultSetMetadata;
+import software.amazon.awssdk.services.athena.model.Row;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AthenaS3ResultReaderTest {
+
+    private static final String LOCATION = "s3://athena-results/query/abc.csv";
+
+    // 헤더 + 5행, 2번째 행은 따옴표 안에 줄바꿈이 있다
+    private static final String CSV = """
+            "date","memo"
+            "20260201","first"
+            "20260202","multi
+            line"
+            "20260203","third"
+            "20260204","fourth"
+            "20260205","fifth"
+            """;
+
+    private final S3Client s3Client = mock(S3Client.class);
+    private final AthenaS3ResultReader reader = new AthenaS3ResultReader(s3Client);
+
+    @AfterEach
+    void tearDown() {
+        reader.shutdown();
+    }
+
+    @Test
+    void 헤더와_첫_페이지에서_받은_행을_건너뛰고_이어서_읽는다() {
+        givenObject(CSV);
+        AthenaResult.Builder builder = AthenaResult.builder("abc", new AthenaResultLimits(100, 1 << 20, 100, 1 << 20));
+        // 첫 페이지(API)로 받은 2행: 헤더는 제외된 상태
+        builder.accept(metadata("date", "memo"), List.of(row("20260201", "first"), row("20260202", "multi\nline")), true);
+
+        reader.read(LOCATION, 1L + builder.rowCount(), builder::append).join();
+
+        AthenaResult result = builder.build();
+        assertThat(result.rowCount()).isEqualTo(5);
+        List<String> dates = new ArrayList<>();
+        for (int r = 0; r < result.rowCount(); r++) dates.add(result.getString(r, 0));
+        assertThat(dates).containsExactly("20260201", "20260202", "20260203", "20260204", "20260205");
+        assertThat(result.getString(1, 1)).isEqualTo("multi\nline");
+    }
+
+    @Test
+    void 건너뛸_레코드_수는_줄이_아니라_레코드_단위다() {
+        givenObject(CSV);
+        List<String[]> received = new ArrayList<>();
+
+        reader.read(LOCATION, 3, received::add).join();
+
+        assertThat(received).extracting(record -> record[0]).containsExactly("20260203", "20260204", "20260205");
+    }
+
+    @Test
+    void 헤더만_건너뛰면_모든_데이터_행을_받는다() {
+        givenObject(CSV);
+        List<String[]> received = new ArrayList<>();
+
+        reader.read(LOCATION, 1, received::add).join();
+
+        assertThat(received).hasSize(5);
+        assertThat(received.get(0)).containsExactly("20260201", "first");
+    }
+
+    @Test
+    void consumer가_false를_반환하면_읽기를_멈춘다() {
+        givenObject(CSV);
+        List<String[]> received = new ArrayList<>();
+
+        reader.read(LOCATION, 1, record -> {
+            received.add(record);
+            return received.size() < 2;
+        }).join();
+
+        assertThat(received).hasSize(2);
+    }
+
+    private void givenObject(String csv) {
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(new ResponseInputStream<>(
+                GetObjectResponse.builder().build(),
+                AbortableInputStream.create(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)))));
+    }
+
+    private static ResultSetMetadata metadata(String... names) {
+        List<ColumnInfo> columns = new ArrayList<>();
+        for (String name : names) columns.add(ColumnInfo.builder().name(name).type("varchar").build());
+        return ResultSetMetadata.builder().columnInfo(columns).build();
+    }
+
+    private static Row row(String... values) {
+        List<Datum> data = new ArrayList<>();
+        for (String value : values) data.add(Datum.builder().varCharValue(value).build());
+        return Row.builder().data(data).build();
+    }
+}
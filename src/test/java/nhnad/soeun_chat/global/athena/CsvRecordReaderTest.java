@@ -0,0 +1,70 @@
+package nhnad.soeun_chat.global.athena;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void 따옴표_안의_쉼표는_구분자가_아니다() throws IOException {
+        List<String[]> records = readAll("\"name\",\"cost\"\n\"구글, 검색\",\"1200\"\n");
+
+        assertThat(records).containsExactly(
+                new String[]{"name", "cost"},
+                new String[]{"구글, 검색", "1200"});
+    }
+
+    @Test
+    void 연속된_따옴표는_따옴표_문자() throws IOException {
+        List<String[]> records = readAll("\"say \"\"hi\"\"\",\"\"\"\"\n");
+
+        assertThat(records).containsExactly(new String[]{"say \"hi\"", "\""});
+    }
+
+    @Test
+    void 따옴표_안의_줄바꿈은_레코드를_나누지_않는다() throws IOException {
+        List<String[]> records = readAll("\"a\nb\",\"c\r\nd\"\r\n\"e\",\"f\"");
+
+        assertThat(records).containsExactly(
+                new String[]{"a\nb", "c\r\nd"},
+                new String[]{"e", "f"});
+    }
+
+    @Test
+    void 따옴표_없는_빈_필드는_null_따옴표로_감싼_빈_필드는_빈_문자열() throws IOException {
+        List<String[]> records = readAll("\"x\",,\"\"\n");
+
+        assertThat(records).containsExactly(new String[]{"x", null, ""});
+    }
+
+    @Test
+    void CRLF와_마지막_줄바꿈_없는_레코드() throws IOException {
+        List<String[]> records = readAll("1,2\r\n3,4");
+
+        assertThat(records).containsExactly(new String[]{"1", "2"}, new String[]{"3", "4"});
+    }
+
+    @Test
+    void 버퍼_경계에_걸친_따옴표도_이어서_읽는다() throws IOException {
+        // 버퍼(64K) 경계가 "" 사이에 오도록 필드를 채운다
+        String padding = "x".repeat((1 << 16) - 2);
+        List<String[]> records = readAll("\"" + padding + "\"\"y\",z\n");
+
+        assertThat(records).hasSize(1);
+        assertThat(records.get(0)).containsExactly(padding + "\"y", "z");
+    }
+
+    private static List<String[]> readAll(String csv) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(csv));
+        List<String[]> records = new ArrayList<>();
+        String[] record;
+        while ((record = reader.next()) != null) records.add(record);
+        return records;
+    }
+}
@@ -0,0 +1,78 @@
+package nhnad.soeun_chat.global.athena;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlFingerprintTest {
+
+    @Test
+    void 주석_공백_대소문자_차이는_같은_키() {
+        SqlFingerprint a = SqlFingerprint.of("SELECT SUM(clicks)\n  FROM se_report_db.google_ad_performance -- 클릭\n WHERE year='2026';");
+        SqlFingerprint b = SqlFingerprint.of("select sum( clicks ) /* 합계 */ from SE_REPORT_DB.google_ad_performance where YEAR = '2026'");
+
+        assertThat(a.normalized()).isEqualTo(b.normalized());
+        assertThat(a.hash()).isEqualTo(b.hash());
+    }
+
+    @Test
+    void 문자열_리터럴은_원문을_유지() {
+        assertThat(SqlFingerprint.of("SELECT * FROM t WHERE camp_name = 'Brand'").hash())
+                .isNotEqualTo(SqlFingerprint.of("SELECT * FROM t WHERE camp_name = 'brand'").hash());
+    }
+
+    @Test
+    void 정수_앞자리_0_IN_목록_순서와_부등호_표기를_정규화() {
+        SqlFingerprint a = SqlFingerprint.of("SELECT * FROM t WHERE day IN ('02', '01', '02') AND basic_date != 020260201");
+        SqlFingerprint b = SqlFingerprint.of("SELECT * FROM t WHERE day IN ('01','02') AND basic_date <> 20260201");
+
+        assertThat(a.normalized()).isEqualTo(b.normalized());
+        assertThat(a.normalized()).isEqualTo("select * from t where day in ( '01' , '02' ) and basic_date <> 20260201");
+    }
+
+    @Test
+    void 테이블_별칭_이름과_AS_유무는_같은_키() {
+        SqlFingerprint a = SqlFingerprint.of("SELECT g.clicks FROM se_report_db.google_ad_performance AS g WHERE g.year = '2026'");
+        SqlFingerprint b = SqlFingerprint.of("SELECT gap.clicks FROM se_report_db.google_ad_performance gap WHERE gap.year = '2026'");
+
+        assertThat(a.normalized()).isEqualTo(b.normalized());
+        assertThat(a.normalized()).isEqualTo(
+                "select $t1 . clicks from se_report_db . google_ad_performance $t1 where $t1 . year = '2026'");
+    }
+
+    @Test
+    void 별칭과_이름이_같은_컬럼과_출력_별칭은_바꾸지_않는다() {
+        SqlFingerprint fingerprint = SqlFingerprint.of(
+                "SELECT c.clicks AS c, clicks FROM se_report_db.google_ad_performance c JOIN t clicks ON c.day = clicks.day");
+
+        assertThat(fingerprint.normalized()).isEqualTo("select $t1 . clicks as c , clicks from se_report_db . "
+                + "google_ad_performance $t1 join t $t2 on $t1 . day = $t2 . day");
+    }
+
+    @Test
+    void 별칭과_이름이_같은_컬럼을_쓰는_쿼리는_다른_키() {
+        // SELECT 목록의 c, d는 컬럼 — 컬럼까지 치환하면 서로 다른 컬럼을 읽는 두 쿼리가 같은 키가 된다
+        SqlFingerprint c = SqlFingerprint.of("SELECT c FROM t c");
+        SqlFingerprint d = SqlFingerprint.of("SELECT d FROM t d");
+
+        assertThat(c.normalized()).isEqualTo("select c from t $t1");
+        assertThat(c.hash()).isNotEqualTo(d.hash());
+    }
+
+    @Test
+    void 쉼표로_나열한_테이블과_서브쿼리_별칭도_치환() {
+        SqlFingerprint fingerprint = SqlFingerprint.of(
+                "SELECT a.x, s.y FROM t1 a, (SELECT y FROM t2) AS s WHERE a.id = s.id");
+
+        assertThat(fingerprint.normalized()).isEqualTo(
+                "select $t1 . x , $t2 . y from t1 $t1 , ( select y from t2 ) $t2 where $t1 . id = $t2 . id");
+    }
+
+    @Test
+    void FROM_JOIN_대상_테이블명() {
+        SqlFingerprint fingerprint = SqlFingerprint.of(
+                "SELECT * FROM se_report_db.google_ad_performance g JOIN se_report_db.kakao_ad_performance k ON g.day = k.day");
+
+        assertThat(fingerprint.tables()).containsExactly("google_ad_performance", "kakao_ad_performance");
+    }
+}